@@ -1,10 +1,12 @@
 // src/AdminDashboard.jsx
 import React, { useEffect, useState } from 'react';
+import { subscribeIssueStream } from './issueStream';
 
 const API_BASE = process.env.REACT_APP_API_BASE || 'http://localhost:8080/api/v1';
 
 export default function AdminDashboard() {
   const [issues, setIssues] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null); // keyset cursor for the next page (null = no more)
   const [commentsByIssue, setCommentsByIssue] = useState({}); // { [issueId]: [comment, ...] }
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
@@ -13,24 +15,34 @@ export default function AdminDashboard() {
 
   useEffect(() => {
     fetchIssues();
+    // live updates: refresh just the issue that changed
+    const close = subscribeIssueStream({
+      apiBase: API_BASE,
+      token,
+      onEvent: ev => refreshIssue(ev.issueId, ev.type),
+      onReset: () => fetchIssues(),
+    });
+    return close;
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
-  async function fetchIssues() {
-    setLoading(true);
+  // loads the first page, or appends the next page when a cursor is given
+  async function fetchIssues(cursor) {
+    if (!cursor) setLoading(true);
     setError('');
     try {
-      const res = await fetch(`${API_BASE}/issues`, {
+      const qs = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+      const res = await fetch(`${API_BASE}/issues${qs}`, {
         headers: { Authorization: token ? `Bearer ${token}` : undefined },
       });
       if (!res.ok) throw new Error(`Server returned ${res.status}`);
       const data = await res.json();
-      setIssues(data);
+      const page = data.items || [];
+      setIssues(prev => (cursor ? [...prev, ...page] : page));
+      setNextCursor(data.nextCursor || null);
 
-      // fetch comments for each issue in background (concurrently)
-      data.forEach(issue => {
-        fetchComments(issue.id);
-      });
+      // fetch comments for the whole page in one background request
+      fetchComments(page.map(issue => issue.id));
     } catch (e) {
       setError(String(e));
     } finally {
@@ -38,21 +50,41 @@ export default function AdminDashboard() {
     }
   }
 
-  // fetch and store comments for a single issue
-  async function fetchComments(issueId) {
+  // reload one issue after a streamed change (new issues go to the top of the list)
+  async function refreshIssue(issueId, type) {
     try {
-      const res = await fetch(`${API_BASE}/issues/${issueId}/comments`, {
+      const res = await fetch(`${API_BASE}/issues/${issueId}`, {
+        headers: { Authorization: token ? `Bearer ${token}` : undefined },
+      });
+      if (!res.ok) return;
+      const issue = await res.json();
+      setIssues(prev => (prev.some(i => i.id === issueId)
+        ? prev.map(i => (i.id === issueId ? issue : i))
+        : [issue, ...prev]));
+      if (type === 'COMMENT' || type === 'CREATED') fetchComments([issueId]);
+    } catch (e) {
+      console.warn('refreshIssue failed', e);
+    }
+  }
+
+  // fetch and store comments for a page of issues (one bulk request)
+  async function fetchComments(issueIds) {
+    if (issueIds.length === 0) return;
+    const empty = Object.fromEntries(issueIds.map(id => [id, []]));
+    try {
+      const qs = issueIds.map(encodeURIComponent).join(',');
+      const res = await fetch(`${API_BASE}/issues/comments?issueIds=${qs}`, {
         headers: { Authorization: token ? `Bearer ${token}` : undefined },
       });
       if (!res.ok) {
         // don't throw — treat missing comments as empty
-        setCommentsByIssue(prev => ({ ...prev, [issueId]: [] }));
+        setCommentsByIssue(prev => ({ ...prev, ...empty }));
         return;
       }
       const data = await res.json();
-      setCommentsByIssue(prev => ({ ...prev, [issueId]: data }));
+      setCommentsByIssue(prev => ({ ...prev, ...empty, ...data }));
     } catch (e) {
-      setCommentsByIssue(prev => ({ ...prev, [issueId]: [] }));
+      setCommentsByIssue(prev => ({ ...prev, ...empty }));
     }
   }
 
@@ -145,7 +177,7 @@ export default function AdminDashboard() {
         Logged in as <code>ADMIN</code>. Token is read from localStorage key{' '}
         <code>pit_token</code>.
       </p>
-      <button onClick={fetchIssues}>Refresh</button>
+      <button onClick={() => fetchIssues()}>Refresh</button>
 
       <table
         style={{
@@ -245,6 +277,11 @@ export default function AdminDashboard() {
           )}
         </tbody>
       </table>
+      {nextCursor && (
+        <button onClick={() => fetchIssues(nextCursor)} style={{ marginTop: 12 }}>
+          Load more
+        </button>
+      )}
     </div>
   );
 }
@@ -21,7 +21,7 @@ export default function Login({ onLogin }) {
 
       const data = await res.json();
       if (!res.ok) {
-        const msg = data?.message || JSON.stringify(data) || 'Login failed';
+        const msg = data?.message || data?.error || JSON.stringify(data) || 'Login failed';
         alert(msg);
       } else {
         const token =
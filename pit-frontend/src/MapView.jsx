@@ -26,24 +26,43 @@ function ClickHandler({ onPickLocation }) {
   return null;
 }
 
+function ViewportWatcher({ onViewportChange }) {
+  // report the visible bounding box on load and after every pan/zoom
+  const map = useMapEvents({
+    moveend() {
+      onViewportChange(map.getBounds());
+    }
+  });
+  useEffect(() => {
+    onViewportChange(map.getBounds());
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, []);
+  return null;
+}
+
 export default function MapView({ onPickLocation }) {
   const [issues, setIssues] = useState([]);
   const center = [20.5937, 78.9629]; // default center (India-ish)
+  const token = localStorage.getItem('pit_token') || '';
 
-  useEffect(() => {
-    // fetch issues from your backend and show markers
-    fetch(`${API_BASE}/issues`)
+  function loadViewport(bounds) {
+    // only fetch markers that are on screen (served from the backend's spatial index)
+    const qs = new URLSearchParams({
+      minLat: Math.max(-90, bounds.getSouth()),
+      minLng: Math.max(-180, bounds.getWest()),
+      maxLat: Math.min(90, bounds.getNorth()),
+      maxLng: Math.min(180, bounds.getEast()),
+    });
+    fetch(`${API_BASE}/issues/within?${qs}`, {
+      headers: { Authorization: token ? `Bearer ${token}` : undefined },
+    })
       .then(r => r.json())
-      .then(data => {
-        // backend might return an array or an object with content; try common shapes
-        const list = Array.isArray(data) ? data : (data.content || data.data || data.items || []);
-        setIssues(list);
-      })
+      .then(data => setIssues(Array.isArray(data) ? data : []))
       .catch(err => {
         console.warn('Failed to load issues:', err);
         setIssues([]);
       });
-  }, []);
+  }
 
   return (
     <MapContainer center={center} zoom={6} style={{ height: '70vh', width: '100%' }}>
@@ -52,11 +71,12 @@ export default function MapView({ onPickLocation }) {
         url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
       />
       <ClickHandler onPickLocation={onPickLocation} />
+      <ViewportWatcher onViewportChange={loadViewport} />
       {issues.map(issue => (issue.latitude && issue.longitude ? (
         <Marker
           key={issue.id || `${issue.latitude}-${issue.longitude}-${Math.random()}`}
           position={[issue.latitude, issue.longitude]}
-          title={issue.title || 'Issue'}
+          title={issue.category ? `${issue.category} (${issue.status})` : 'Issue'}
         />
       ) : null))}
     </MapContainer>
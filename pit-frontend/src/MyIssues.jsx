@@ -1,5 +1,6 @@
 // src/MyIssues.jsx
 import React, { useEffect, useState } from 'react';
+import { subscribeIssueStream } from './issueStream';
 
 const API_BASE = process.env.REACT_APP_API_BASE || 'http://localhost:8080/api/v1';
 
@@ -39,6 +40,8 @@ function formatDate(value) {
   return String(value);
 }
 
+const COMMENTS_BATCH = 200; // server-side limit of GET /issues/comments
+
 export default function MyIssues() {
   const [issues, setIssues] = useState([]);
   const [commentsByIssue, setCommentsByIssue] = useState({}); // { issueId: { loading, error, data[] } }
@@ -52,9 +55,35 @@ export default function MyIssues() {
 
   useEffect(() => {
     fetchMyIssues();
+    if (!token || !myId) return undefined;
+    // live updates for issues I reported: refresh just the issue that changed
+    const close = subscribeIssueStream({
+      apiBase: API_BASE,
+      token,
+      params: { reporterId: myId },
+      onEvent: ev => refreshIssue(ev.issueId, ev.type),
+      onReset: () => fetchMyIssues(),
+    });
+    return close;
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
+  async function refreshIssue(issueId, type) {
+    try {
+      const res = await fetch(`${API_BASE}/issues/${issueId}`, {
+        headers: { Authorization: token ? `Bearer ${token}` : undefined },
+      });
+      if (!res.ok) return;
+      const issue = await res.json();
+      setIssues(prev => (prev.some(i => i.id === issueId)
+        ? prev.map(i => (i.id === issueId ? issue : i))
+        : [issue, ...prev]));
+      if (type === 'COMMENT' || type === 'CREATED') fetchComments([issueId]);
+    } catch (e) {
+      console.warn('refreshIssue failed', e);
+    }
+  }
+
   async function fetchMyIssues() {
     setLoading(true); setError('');
     try {
@@ -83,10 +112,11 @@ export default function MyIssues() {
       });
 
       setIssues(mine);
-      // fetch comments for each issue (do not await - parallel)
-      mine.forEach(i => {
-        if (i && i.id) fetchComments(i.id);
-      });
+      // fetch comments in bulk, up to 200 issues per request (do not await - parallel)
+      const ids = mine.filter(i => i && i.id).map(i => i.id);
+      for (let start = 0; start < ids.length; start += COMMENTS_BATCH) {
+        fetchComments(ids.slice(start, start + COMMENTS_BATCH));
+      }
     } catch (e) {
       console.error('fetchMyIssues error', e);
       setError(String(e));
@@ -100,28 +130,30 @@ export default function MyIssues() {
     try { return await res.text(); } catch (e) { return ''; }
   }
 
-  async function fetchComments(issueId) {
-    // set loading state for that issue
-    setCommentsByIssue(prev => ({ ...prev, [issueId]: { loading: true, error: '', data: [] } }));
+  async function fetchComments(issueIds) {
+    const setAll = state => setCommentsByIssue(prev => {
+      const next = { ...prev };
+      issueIds.forEach(id => { next[id] = typeof state === 'function' ? state(id) : state; });
+      return next;
+    });
+    // set loading state for those issues
+    setAll({ loading: true, error: '', data: [] });
     try {
-      console.log(`Fetching comments for issue ${issueId}`);
-      const res = await fetch(`${API_BASE}/issues/${issueId}/comments`, {
+      const res = await fetch(`${API_BASE}/issues/comments?issueIds=${issueIds.map(encodeURIComponent).join(',')}`, {
         headers: { Authorization: token ? `Bearer ${token}` : undefined },
       });
-      console.log(`GET /issues/${issueId}/comments -> ${res.status}`);
       if (!res.ok) {
         const txt = await safeText(res);
         const msg = `Server returned ${res.status}${txt ? ' — ' + txt : ''}`;
         console.warn('fetchComments failed', msg);
-        setCommentsByIssue(prev => ({ ...prev, [issueId]: { loading: false, error: msg, data: [] } }));
+        setAll({ loading: false, error: msg, data: [] });
         return;
       }
       const data = await res.json();
-      console.log('comments data', issueId, data);
-      setCommentsByIssue(prev => ({ ...prev, [issueId]: { loading: false, error: '', data: Array.isArray(data) ? data : [] } }));
+      setAll(id => ({ loading: false, error: '', data: Array.isArray(data[id]) ? data[id] : [] }));
     } catch (e) {
       console.error('fetchComments error', e);
-      setCommentsByIssue(prev => ({ ...prev, [issueId]: { loading: false, error: String(e), data: [] } }));
+      setAll({ loading: false, error: String(e), data: [] });
     }
   }
 
@@ -0,0 +1,90 @@
+// src/issueStream.js
+// Live issue changes from GET /issues/stream (Server-Sent Events).
+// EventSource can't send the Authorization header, so the stream is read with fetch.
+// Reconnects after a drop and resumes with Last-Event-ID, so no change is missed. A resume also
+// resends the few seconds before that id, so changes already delivered are skipped by id.
+
+const RECONNECT_MS = 3000;
+const SEEN_IDS = 1000;
+
+/**
+ * Subscribe to committed issue changes. Returns a function that closes the stream.
+ *   params:  optional { issueId, reporterId, assigneeId } filters
+ *   onEvent: called with each change ({ id, issueId, type, actorId, fromStatus, toStatus, note, createdAt })
+ *   onReset: called when too much was missed to replay; reload everything
+ */
+export function subscribeIssueStream({ apiBase, token, params = {}, onEvent, onReset }) {
+  const controller = new AbortController();
+  let lastEventId = null;
+  let closed = false;
+  const seen = new Set(); // ids of recently delivered changes, oldest first
+
+  const qs = Object.entries(params)
+    .filter(([, v]) => v)
+    .map(([k, v]) => `${k}=${encodeURIComponent(v)}`)
+    .join('&');
+
+  async function connect() {
+    try {
+      const headers = { Authorization: token ? `Bearer ${token}` : undefined };
+      if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+      const res = await fetch(`${apiBase}/issues/stream${qs ? '?' + qs : ''}`, {
+        headers,
+        signal: controller.signal,
+      });
+      if (!res.ok || !res.body) throw new Error(`Stream returned ${res.status}`);
+
+      const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buf = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buf += value;
+        let end;
+        while ((end = buf.indexOf('\n\n')) >= 0) {
+          handleFrame(buf.slice(0, end));
+          buf = buf.slice(end + 2);
+        }
+      }
+    } catch (e) {
+      if (closed) return;
+      console.warn('issue stream interrupted', e);
+    }
+    if (!closed) setTimeout(connect, RECONNECT_MS);
+  }
+
+  function handleFrame(frame) {
+    let id = null;
+    let event = 'message';
+    let data = '';
+    for (const line of frame.split('\n')) {
+      if (line.startsWith(':')) continue; // heartbeat
+      const colon = line.indexOf(':');
+      const field = colon < 0 ? line : line.slice(0, colon);
+      const value = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+      if (field === 'id') id = value;
+      else if (field === 'event') event = value;
+      else if (field === 'data') data += value;
+    }
+    if (id) lastEventId = id;
+    if (event === 'reset') {
+      if (onReset) onReset();
+    } else if (data && onEvent) {
+      try {
+        const change = JSON.parse(data);
+        if (change.id) {
+          if (seen.has(change.id)) return;
+          seen.add(change.id);
+          if (seen.size > SEEN_IDS) seen.delete(seen.values().next().value);
+        }
+        onEvent(change);
+      } catch (e) { console.warn('bad stream event', e); }
+    }
+  }
+
+  connect();
+  return () => {
+    closed = true;
+    controller.abort();
+  };
+}
@@ -1,12 +1,35 @@
 package com.publicissuetracker.api;
 
-import com.publicissuetracker.repository.IssueRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.publicissuetracker.dto.ErrorResponse;
+import com.publicissuetracker.export.ExportFormat;
+import com.publicissuetracker.metrics.IssueCounters;
+import com.publicissuetracker.metrics.ResolutionTimes;
+import com.publicissuetracker.service.ExportService;
+import com.publicissuetracker.service.SearchService;
+import com.publicissuetracker.service.UserService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,37 +40,186 @@ import java.util.Map;
 @RequestMapping("/api/v1/admin")
 public class AdminController {
 
-    private final IssueRepository issueRepository;
+    private final IssueCounters issueCounters;
+    private final ResolutionTimes resolutionTimes;
+    private final SearchService searchService;
+    private final ExportService exportService;
+    private final CacheManager cacheManager;
+    private final UserService userService;
 
-    public AdminController(IssueRepository issueRepository) {
-        this.issueRepository = issueRepository;
+    public AdminController(IssueCounters issueCounters,
+                           ResolutionTimes resolutionTimes,
+                           SearchService searchService,
+                           ExportService exportService,
+                           CacheManager cacheManager,
+                           UserService userService) {
+        this.issueCounters = issueCounters;
+        this.resolutionTimes = resolutionTimes;
+        this.searchService = searchService;
+        this.exportService = exportService;
+        this.cacheManager = cacheManager;
+        this.userService = userService;
     }
 
     /**
      * GET /api/v1/admin/issues/metrics
+     * Read from the issue_status_counts counters only (no scan of issues).
      * Response:
      * {
      *   "total": 123,
      *   "open": 45,
      *   "inProgress": 10,
-     *   "resolved": 60
+     *   "resolved": 60,
+     *   "verified": 8,
+     *   "byStatus":   { "IN_PROGRESS": 10, "OPEN": 45, "RESOLVED": 60, "VERIFIED": 8 },
+     *   "byCategory": { "Roads": { "OPEN": 30, "RESOLVED": 12 }, ... },
+     *   "byAssignee": { "<userId>": { "IN_PROGRESS": 4 }, "unassigned": { "OPEN": 41 }, ... }
      * }
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/issues/metrics")
     public ResponseEntity<Map<String, Object>> issueMetrics() {
-        long total = issueRepository.count();
-        long open = issueRepository.countByStatus("OPEN");
-        long inProgress = issueRepository.countByStatus("IN_PROGRESS");
-        long resolved = issueRepository.countByStatus("RESOLVED");
-
-        Map<String, Object> body = Map.of(
-                "total", total,
-                "open", open,
-                "inProgress", inProgress,
-                "resolved", resolved
-        );
+        return ResponseEntity.ok(issueCounters.metrics());
+    }
+
+    /**
+     * GET /api/v1/admin/issues/resolution-times?kind=RESOLVED|VERIFIED&from=2026-01-01&to=2026-03-31&category=Roads&percentiles=50,95,99
+     * Percentiles (seconds from creation) of the issues resolved / verified on the days in [from, to]
+     * (default: the last 30 days, p50/p90/p95/p99), merged from per-day histograms.
+     * Response:
+     * {
+     *   "kind": "RESOLVED", "from": "2026-01-01", "to": "2026-03-31", "unit": "seconds",
+     *   "all":        { "count": 412, "p50": 86400, "p95": 604800, "p99": 1209600, "max": 2592000 },
+     *   "byCategory": { "Roads": { "count": 120, "p50": ... }, ... }
+     * }
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/issues/resolution-times")
+    public ResponseEntity<?> resolutionTimes(@RequestParam(required = false) String kind,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to,
+                                             @RequestParam(required = false) String category,
+                                             @RequestParam(required = false) List<Double> percentiles) {
+        try {
+            double[] ps = percentiles == null ? null : percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+            return ResponseEntity.ok(resolutionTimes.percentiles(kind, parseDate(from), parseDate(to), category, ps));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+    /**
+     * POST /api/v1/admin/issues/resolution-times/rebuild
+     * Recompute the resolution histograms from issue_events (archived months included).
+     * Response: { "resolutions": 4123 }
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/issues/resolution-times/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildResolutionTimes() {
+        return ResponseEntity.ok(Map.of("resolutions", resolutionTimes.rebuild()));
+    }
+
+    /**
+     * PATCH /api/v1/admin/users/{id}/role?role=ADMIN|CITIZEN
+     * The user's current access tokens stop working at once; refreshing yields one with the new role.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/users/{id}/role")
+    public ResponseEntity<?> changeRole(@PathVariable String id, @RequestParam String role) {
+        try {
+            return userService.changeRole(id, role)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+    /**
+     * POST /api/v1/admin/search/rebuild
+     * Rebuild the full-text search index (and its on-disk segments) from the database.
+     * Response: { "indexed": 123 }
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        searchService.rebuild();
+        return ResponseEntity.ok(Map.of("indexed", searchService.size()));
+    }
+
+    /**
+     * GET /api/v1/admin/cache/stats
+     * Response (per cache):
+     * {
+     *   "issues": { "size": 812, "hits": 10423, "misses": 977, "hitRate": 0.914, "evictions": 0 },
+     *   "users":  { ... }
+     * }
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) continue;
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("size", cache.getNativeCache().estimatedSize());
+            m.put("hits", stats.hitCount());
+            m.put("misses", stats.missCount());
+            m.put("hitRate", stats.hitRate());
+            m.put("evictions", stats.evictionCount());
+            body.put(name, m);
+        }
         return ResponseEntity.ok(body);
     }
-}
 
+    /**
+     * GET /api/v1/admin/export/issues?format=ndjson|csv
+     * Streams every issue as NDJSON (default) or CSV; rows are written while they are read.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export/issues")
+    public ResponseEntity<?> exportIssues(@RequestParam(required = false) String format) {
+        return export("issues", format, exportService::exportIssues);
+    }
+
+    /**
+     * GET /api/v1/admin/export/events?format=ndjson|csv
+     * Streams every issue event as NDJSON (default) or CSV.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export/events")
+    public ResponseEntity<?> exportEvents(@RequestParam(required = false) String format) {
+        return export("issue-events", format, exportService::exportEvents);
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dates must be yyyy-MM-dd");
+        }
+    }
+
+    private interface Exporter {
+        void export(ExportFormat format, OutputStream out) throws IOException;
+    }
+
+    private ResponseEntity<?> export(String name, String format, Exporter exporter) {
+        ExportFormat f;
+        try {
+            f = ExportFormat.parse(format);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+        StreamingResponseBody body = out -> exporter.export(f, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + f.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -97,7 +97,8 @@ public class AuthController {
     }
 
     /**
-     * Revoke a refresh token (logout).
+     * Revoke a refresh token (logout), and the user's access tokens issued so far: they would otherwise
+     * keep working until they expire. Other sessions get a new access token on their next refresh.
      * Body: { "refreshToken": "..." }
      */
     @PostMapping("/logout")
@@ -107,7 +108,10 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "refresh_token_required"));
         }
         Optional<RefreshToken> maybe = refreshTokenService.findValidByToken(token);
-        maybe.ifPresent(refreshTokenService::revoke);
+        maybe.ifPresent(rt -> {
+            refreshTokenService.revoke(rt);
+            userService.revokeAccessTokens(rt.getUser().getId());
+        });
         return ResponseEntity.ok(Map.of("status", "ok"));
     }
 }
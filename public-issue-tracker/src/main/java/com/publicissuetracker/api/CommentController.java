@@ -2,8 +2,13 @@ package com.publicissuetracker.api;
 
 import com.publicissuetracker.dto.CommentCreateRequest;
 import com.publicissuetracker.dto.CommentResponse;
+import com.publicissuetracker.dto.ErrorResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
 import com.publicissuetracker.model.User;
+import com.publicissuetracker.security.AuthenticatedUser;
 import com.publicissuetracker.service.CommentService;
+import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.util.VersionTag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,8 +16,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -25,9 +32,11 @@ import java.util.stream.Collectors;
 public class CommentController {
 
     private final CommentService commentService;
+    private final IssueService issueService;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, IssueService issueService) {
         this.commentService = commentService;
+        this.issueService = issueService;
     }
 
     /**
@@ -51,10 +60,10 @@ public class CommentController {
         }
 
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!(principal instanceof User)) {
+        if (!(principal instanceof AuthenticatedUser)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        User author = (User) principal;
+        User author = ((AuthenticatedUser) principal).asUser();
 
         try {
             CommentResponse created = commentService.createComment(issueId, req, author);
@@ -75,14 +84,31 @@ public class CommentController {
     }
 
     /**
-     * List all comments for an issue.
+     * List comments for an issue, one page at a time, oldest first within the page.
      *
-     * GET /api/v1/issues/{issueId}/comments
+     * GET /api/v1/issues/{issueId}/comments?limit=50              -> newest page
+     * GET /api/v1/issues/{issueId}/comments?before=<olderCursor>  -> the page before it
+     * GET /api/v1/issues/{issueId}/comments?after=<newerCursor>   -> the page after it
+     * Conditional on the issue's updatedAt, which every new comment bumps.
      */
     @GetMapping
-    public ResponseEntity<List<CommentResponse>> listComments(@PathVariable("issueId") String issueId) {
-        List<CommentResponse> list = commentService.listComments(issueId);
-        return ResponseEntity.ok(list);
+    public ResponseEntity<?> listComments(@PathVariable("issueId") String issueId,
+                                          @RequestParam(required = false) String before,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          WebRequest request) {
+        Optional<Instant> version = issueService.findVersion(issueId);
+        if (version.isPresent()
+                && request.checkNotModified(VersionTag.etag(version.get()), version.get().toEpochMilli())) {
+            return null; // 304, headers already set
+        }
+        try {
+            TimelinePageResponse<CommentResponse> page = commentService.listComments(issueId, before, after, limit);
+            return ResponseEntity.ok().cacheControl(VersionTag.REVALIDATE).body(page);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
     }
 }
 
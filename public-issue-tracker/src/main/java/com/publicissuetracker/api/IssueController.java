@@ -3,14 +3,22 @@ package com.publicissuetracker.api;
 import com.publicissuetracker.dto.CommentCreateRequest;
 import com.publicissuetracker.dto.CommentResponse;
 import com.publicissuetracker.dto.EventResponse;
+import com.publicissuetracker.dto.ErrorResponse;
 import com.publicissuetracker.dto.IssueCreateRequest;
+import com.publicissuetracker.dto.IssuePageResponse;
 import com.publicissuetracker.dto.IssueResponse;
-import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.dto.TimelinePageResponse;
+import com.publicissuetracker.dto.TrendingIssueResponse;
+import com.publicissuetracker.dto.UpvoteResponse;
 import com.publicissuetracker.model.User;
-import com.publicissuetracker.repository.IssueEventRepository;
+import com.publicissuetracker.security.AuthenticatedUser;
 import com.publicissuetracker.repository.UserRepository;
 import com.publicissuetracker.service.CommentService;
 import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.service.SearchService;
+import com.publicissuetracker.service.TrendingService;
+import com.publicissuetracker.service.VoteService;
+import com.publicissuetracker.util.VersionTag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +27,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * IssueController - handles creating/listing/getting issues,
@@ -34,19 +46,27 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/issues")
 public class IssueController {
 
+    static final int MAX_BULK_COMMENT_ISSUES = 200;
+
     private final IssueService issueService;
     private final UserRepository userRepository;
     private final CommentService commentService;
-    private final IssueEventRepository issueEventRepository;
+    private final SearchService searchService;
+    private final VoteService voteService;
+    private final TrendingService trendingService;
 
     public IssueController(IssueService issueService,
                            UserRepository userRepository,
                            CommentService commentService,
-                           IssueEventRepository issueEventRepository) {
+                           SearchService searchService,
+                           VoteService voteService,
+                           TrendingService trendingService) {
         this.issueService = issueService;
         this.userRepository = userRepository;
         this.commentService = commentService;
-        this.issueEventRepository = issueEventRepository;
+        this.searchService = searchService;
+        this.voteService = voteService;
+        this.trendingService = trendingService;
     }
 
     /**
@@ -56,28 +76,150 @@ public class IssueController {
     @PostMapping
     public ResponseEntity<IssueResponse> createIssue(@Valid @RequestBody IssueCreateRequest req) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!(principal instanceof User)) {
+        if (!(principal instanceof AuthenticatedUser)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        User currentUser = (User) principal;
+        User currentUser = ((AuthenticatedUser) principal).asUser();
         IssueResponse created = issueService.createIssue(req, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     /**
-     * List issues (public / authenticated users).
+     * List issues (public / authenticated users), newest first, one page at a time.
+     *
+     * GET /api/v1/issues?status=OPEN&category=Roads&limit=50&cursor=...
+     * Pass the returned nextCursor back as ?cursor= to fetch the following page.
+     * Conditional: 304 if nothing changed since the client's ETag / Last-Modified (max updatedAt).
      */
     @GetMapping
-    public ResponseEntity<List<IssueResponse>> listIssues() {
-        return ResponseEntity.ok(issueService.listIssues());
+    public ResponseEntity<?> listIssues(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request
+    ) {
+        Instant version = issueService.listVersion();
+        if (version != null && request.checkNotModified(VersionTag.etag(version), version.toEpochMilli())) {
+            return null; // 304, headers already set
+        }
+        try {
+            IssuePageResponse page = issueService.listIssues(status, category, cursor, limit);
+            return ResponseEntity.ok().cacheControl(VersionTag.REVALIDATE).body(page);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+    /**
+     * Issues near a point, closest first ("what has already been reported around me?").
+     *
+     * GET /api/v1/issues/nearby?lat=..&lng=..&radius=500&limit=20&status=OPEN
+     * radius is in meters (max 50 km), limit is capped at 100.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<?> listNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "500") double radius,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String status
+    ) {
+        try {
+            return ResponseEntity.ok(issueService.findNearby(lat, lng, radius, limit, status));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+    /**
+     * Comments for many issues in one call (replaces one GET /{id}/comments per listed issue).
+     *
+     * GET /api/v1/issues/comments?issueIds=id1,id2,...
+     * Response: { "id1": [comment, ...], "id2": [], ... } in request order; at most 200 ids.
+     */
+    @GetMapping("/comments")
+    public ResponseEntity<?> listCommentsForIssues(@RequestParam List<String> issueIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (String id : issueIds) {
+            if (id != null && !id.isBlank()) ids.add(id.trim());
+        }
+        if (ids.size() > MAX_BULK_COMMENT_ISSUES) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("At most " + MAX_BULK_COMMENT_ISSUES + " issueIds per request",
+                            HttpStatus.BAD_REQUEST.value()));
+        }
+        Map<String, List<CommentResponse>> byIssue = commentService.listCommentsByIssueIds(ids);
+        return ResponseEntity.ok(byIssue);
+    }
+
+    /**
+     * Full-text search over titles, descriptions and comments, best match first.
+     *
+     * GET /api/v1/issues/search?q=pothole+main&limit=20
+     * The last word is matched as a prefix ("pot" finds "pothole"); limit is capped at 100.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(searchService.search(q, limit));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+    /**
+     * Admin-only: "hot right now" - issues ranked by recent activity (new issue, comments, upvotes),
+     * where each activity's weight halves every trending.halfLifeHours.
+     *
+     * GET /api/v1/issues/trending?limit=20
+     * Response: [ { "score": 7.4, "issue": { ... } }, ... ] hottest first; limit is capped at trending.size.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingIssueResponse>> trending(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(trendingService.trending(limit));
     }
 
     /**
-     * Get issue by id (details).
+     * Get issue by id (details). Conditional on the issue's updatedAt.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<IssueResponse> getIssue(@PathVariable String id) {
+    public ResponseEntity<IssueResponse> getIssue(@PathVariable String id, WebRequest request) {
+        Optional<Instant> version = issueService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(VersionTag.etag(version.get()), version.get().toEpochMilli())) {
+            return null; // 304, headers already set
+        }
         return issueService.findById(id)
+                .map(issue -> ResponseEntity.ok().cacheControl(VersionTag.REVALIDATE).body(issue))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Upvote an issue as the current user. Idempotent: a repeated vote returns recorded=false.
+     *
+     * POST /api/v1/issues/{id}/upvote
+     * Response: { "issueId": "...", "recorded": true, "upvoteCount": 42 }
+     * The stored upvoteCount (issue responses) catches up within votes.flushMillis.
+     */
+    @PostMapping("/{id}/upvote")
+    public ResponseEntity<UpvoteResponse> upvote(@PathVariable String id) {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!(principal instanceof AuthenticatedUser)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        User voter = ((AuthenticatedUser) principal).asUser();
+
+        return voteService.upvote(id, voter)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -95,10 +237,10 @@ public class IssueController {
             @RequestParam String status
     ) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!(principal instanceof User)) {
+        if (!(principal instanceof AuthenticatedUser)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        User acting = (User) principal;
+        User acting = ((AuthenticatedUser) principal).asUser();
 
         return issueService.updateStatus(id, status, acting)
                 .map(ResponseEntity::ok)
@@ -118,10 +260,10 @@ public class IssueController {
             @RequestBody AssignRequest req
     ) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!(principal instanceof User)) {
+        if (!(principal instanceof AuthenticatedUser)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        User acting = (User) principal;
+        User acting = ((AuthenticatedUser) principal).asUser();
 
         if (req == null || req.getAssignedToId() == null || req.getAssignedToId().isBlank()) {
             return ResponseEntity.badRequest().build();
@@ -137,26 +279,31 @@ public class IssueController {
     }
 
     /**
-     * List events (timeline) for an issue.
+     * List events (timeline) for an issue, one page at a time, oldest first within the page.
      *
-     * GET /api/v1/issues/{id}/events
+     * GET /api/v1/issues/{id}/events?limit=50              -> newest page
+     * GET /api/v1/issues/{id}/events?before=<olderCursor>  -> the page before it
+     * GET /api/v1/issues/{id}/events?after=<newerCursor>   -> the page after it
      */
     @GetMapping("/{id}/events")
-    public ResponseEntity<List<EventResponse>> listEvents(@PathVariable("id") String issueId) {
-        List<IssueEvent> events = issueEventRepository.findByIssueIdOrderByCreatedAtAsc(issueId);
-        List<EventResponse> resp = events.stream().map(e -> {
-            EventResponse er = new EventResponse();
-            er.id = e.getId();
-            er.issueId = e.getIssueId();
-            er.type = e.getType();
-            er.actorId = e.getActorId();
-            er.fromStatus = e.getFromStatus();
-            er.toStatus = e.getToStatus();
-            er.note = e.getNote();
-            er.createdAt = e.getCreatedAt();
-            return er;
-        }).collect(Collectors.toList());
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<?> listEvents(@PathVariable("id") String issueId,
+                                        @RequestParam(required = false) String before,
+                                        @RequestParam(required = false) String after,
+                                        @RequestParam(defaultValue = "50") int limit,
+                                        WebRequest request) {
+        // every event is written together with an update of the issue's updatedAt
+        Optional<Instant> version = issueService.findEventsVersion(issueId);
+        if (version.isPresent()
+                && request.checkNotModified(VersionTag.etag(version.get()), version.get().toEpochMilli())) {
+            return null; // 304, headers already set
+        }
+        try {
+            TimelinePageResponse<EventResponse> page = issueService.listEvents(issueId, before, after, limit);
+            return ResponseEntity.ok().cacheControl(VersionTag.REVALIDATE).body(page);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
     }
 
     /**
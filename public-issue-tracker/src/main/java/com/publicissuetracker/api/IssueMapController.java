@@ -0,0 +1,132 @@
+package com.publicissuetracker.api;
+
+import com.publicissuetracker.dto.ClusterResponse;
+import com.publicissuetracker.dto.ErrorResponse;
+import com.publicissuetracker.dto.IssueMarkerResponse;
+import com.publicissuetracker.geo.MarkerTileEncoder;
+import com.publicissuetracker.service.ClusterService;
+import com.publicissuetracker.service.SpatialIndexService;
+import com.publicissuetracker.service.TileService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Map feed endpoints. Everything here is answered from in-memory indexes, not MySQL.
+ *
+ * Base path: /api/v1/issues (literal sub-paths take precedence over IssueController's /{id})
+ */
+@RestController
+@RequestMapping("/api/v1/issues")
+public class IssueMapController {
+
+    private final SpatialIndexService spatialIndexService;
+    private final ClusterService clusterService;
+    private final TileService tileService;
+
+    public IssueMapController(SpatialIndexService spatialIndexService,
+                              ClusterService clusterService,
+                              TileService tileService) {
+        this.spatialIndexService = spatialIndexService;
+        this.clusterService = clusterService;
+        this.tileService = tileService;
+    }
+
+    /**
+     * Map markers inside a bounding box.
+     *
+     * GET /api/v1/issues/within?minLat=..&minLng=..&maxLat=..&maxLng=..&limit=2000
+     */
+    @GetMapping("/within")
+    public ResponseEntity<?> listWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(defaultValue = "2000") int limit
+    ) {
+        try {
+            List<IssueMarkerResponse> markers = spatialIndexService.findWithin(minLat, minLng, maxLat, maxLng, limit);
+            return ResponseEntity.ok(markers);
+        } catch (IllegalArgumentException iae) {
+            return badRequest(iae.getMessage());
+        }
+    }
+
+    /**
+     * Pre-aggregated clusters for a zoom level.
+     *
+     * GET /api/v1/issues/clusters?zoom=11&bbox=minLng,minLat,maxLng,maxLat
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<?> listClusters(
+            @RequestParam int zoom,
+            @RequestParam String bbox
+    ) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            return badRequest("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        try {
+            double minLng = Double.parseDouble(parts[0].trim());
+            double minLat = Double.parseDouble(parts[1].trim());
+            double maxLng = Double.parseDouble(parts[2].trim());
+            double maxLat = Double.parseDouble(parts[3].trim());
+            List<ClusterResponse> clusters = clusterService.findClusters(zoom, minLat, minLng, maxLat, maxLng);
+            return ResponseEntity.ok(clusters);
+        } catch (IllegalArgumentException iae) {
+            // NumberFormatException is an IllegalArgumentException too
+            return badRequest(iae.getMessage());
+        }
+    }
+
+    /**
+     * Binary marker tile (format documented in MarkerTileEncoder).
+     * Tiles carry an ETag so browsers / proxies can revalidate cheaply with If-None-Match.
+     *
+     * GET /api/v1/issues/tiles/{z}/{x}/{y}
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<?> getTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        byte[] tile;
+        try {
+            tile = tileService.getTile(z, x, y);
+        } catch (IllegalArgumentException iae) {
+            return badRequest(iae.getMessage());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(tile);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + tile.length + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(30, TimeUnit.SECONDS).cachePrivate();
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MarkerTileEncoder.MEDIA_TYPE))
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(tile);
+    }
+
+    private static ResponseEntity<ErrorResponse> badRequest(String message) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(message, HttpStatus.BAD_REQUEST.value()));
+    }
+}
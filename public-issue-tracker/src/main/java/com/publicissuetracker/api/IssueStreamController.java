@@ -0,0 +1,35 @@
+package com.publicissuetracker.api;
+
+import com.publicissuetracker.dto.ErrorResponse;
+import com.publicissuetracker.service.IssueStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * GET /api/v1/issues/stream?issueId=..&reporterId=..&assigneeId=..
+ * Server-Sent Events: one "issue-event" (EventResponse JSON) per committed change, heartbeat
+ * comments in between. Reconnect with the Last-Event-ID header to resume where the stream broke;
+ * the resume resends the last few seconds too, so skip event ids already seen.
+ */
+@RestController
+@RequestMapping("/api/v1/issues/stream")
+public class IssueStreamController {
+    private final IssueStreamService streamService;
+    public IssueStreamController(IssueStreamService streamService){ this.streamService = streamService; }
+
+    @GetMapping
+    public ResponseEntity<?> stream(@RequestParam(required = false) String issueId,
+                                    @RequestParam(required = false) String reporterId,
+                                    @RequestParam(required = false) String assigneeId,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        try {
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no") // don't let a reverse proxy hold frames back
+                    .body(streamService.subscribe(issueId, reporterId, assigneeId, lastEventId));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+}
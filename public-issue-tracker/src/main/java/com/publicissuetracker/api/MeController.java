@@ -1,7 +1,7 @@
 package com.publicissuetracker.api;
 
 import com.publicissuetracker.dto.IssueResponse;
-import com.publicissuetracker.model.User;
+import com.publicissuetracker.security.AuthenticatedUser;
 import com.publicissuetracker.service.IssueService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,10 +28,10 @@ public class MeController {
     @GetMapping("/issues")
     public ResponseEntity<List<IssueResponse>> myIssues() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!(principal instanceof User)) {
+        if (!(principal instanceof AuthenticatedUser)) {
             return ResponseEntity.status(401).build();
         }
-        User me = (User) principal;
+        AuthenticatedUser me = (AuthenticatedUser) principal;
         List<IssueResponse> issues = issueService.listIssuesByReporterId(me.getId());
         return ResponseEntity.ok(issues);
     }
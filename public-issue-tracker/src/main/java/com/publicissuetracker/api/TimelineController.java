@@ -1,20 +1,52 @@
 package com.publicissuetracker.api;
 
-import com.publicissuetracker.model.IssueEvent;
-import com.publicissuetracker.repository.IssueEventRepository;
+import com.publicissuetracker.dto.ErrorResponse;
+import com.publicissuetracker.dto.TimelineItemResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
+import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.service.TimelineService;
+import com.publicissuetracker.util.VersionTag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Optional;
 
+/**
+ * GET /api/v1/issues/{id}/timeline?before=..|after=..&limit=50
+ * Events and comments of an issue merged into one keyset-paginated list (one round trip for the
+ * issue detail view instead of /events + /comments).
+ */
 @RestController
 @RequestMapping("/api/v1/issues/{id}/timeline")
 public class TimelineController {
-    private final IssueEventRepository eventRepo;
-    public TimelineController(IssueEventRepository eventRepo){ this.eventRepo = eventRepo; }
+    private final TimelineService timelineService;
+    private final IssueService issueService;
+    public TimelineController(TimelineService timelineService, IssueService issueService){
+        this.timelineService = timelineService;
+        this.issueService = issueService;
+    }
 
     @GetMapping
-    public List<IssueEvent> list(@PathVariable("id") String id){
-        return eventRepo.findByIssueIdOrderByCreatedAtAsc(id);
+    public ResponseEntity<?> list(@PathVariable("id") String id,
+                                  @RequestParam(required = false) String before,
+                                  @RequestParam(required = false) String after,
+                                  @RequestParam(defaultValue = "50") int limit,
+                                  WebRequest request){
+        // comments and events both bump the issue's updatedAt
+        Optional<Instant> version = issueService.findEventsVersion(id);
+        if (version.isPresent()
+                && request.checkNotModified(VersionTag.etag(version.get()), version.get().toEpochMilli())) {
+            return null; // 304, headers already set
+        }
+        try {
+            TimelinePageResponse<TimelineItemResponse> page = timelineService.listTimeline(id, before, after, limit);
+            return ResponseEntity.ok().cacheControl(VersionTag.REVALIDATE).body(page);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(iae.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
     }
 }
-
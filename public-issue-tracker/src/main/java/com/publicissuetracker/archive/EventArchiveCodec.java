@@ -0,0 +1,92 @@
+package com.publicissuetracker.archive;
+
+import com.publicissuetracker.model.IssueEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary form of one issue's archived events: a gzip stream of
+ * [version byte][count int] then per event [createdAt epoch micros long][id][type][actorId]
+ * [fromStatus][toStatus][note], strings as [length int (-1 = null)][UTF-8 bytes].
+ * The issue id is not repeated per event. Events are stored oldest first.
+ */
+public final class EventArchiveCodec {
+
+    private static final int VERSION = 1;
+
+    private EventArchiveCodec() {}
+
+    public static byte[] encode(List<IssueEvent> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(events.size());
+            for (IssueEvent e : events) {
+                out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, e.getCreatedAt()));
+                writeString(out, e.getId());
+                writeString(out, e.getType());
+                writeString(out, e.getActorId());
+                writeString(out, e.getFromStatus());
+                writeString(out, e.getToStatus());
+                writeString(out, e.getNote());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<IssueEvent> decode(String issueId, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unknown event archive version " + version);
+            int count = in.readInt();
+            List<IssueEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                IssueEvent e = new IssueEvent();
+                e.setIssueId(issueId);
+                e.setCreatedAt(Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS));
+                e.setId(readString(in));
+                e.setType(readString(in));
+                e.setActorId(readString(in));
+                e.setFromStatus(readString(in));
+                e.setToStatus(readString(in));
+                e.setNote(readString(in));
+                events.add(e);
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.publicissuetracker.archive;
+
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.IssueEventArchive;
+import com.publicissuetracker.repository.IssueEventArchiveRepository;
+import com.publicissuetracker.repository.IssueEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps issue_events down to the hot window: the current month plus the previous hotMonths.
+ *
+ * Older months are moved, oldest first, into issue_event_archive as one compressed row per issue
+ * and month. Each batch of issues is archived and deleted from issue_events in one transaction,
+ * so an event is always in exactly one of the two tables and an interrupted run just resumes.
+ * IssueEventStore stitches both back together for reads.
+ */
+@Component
+public class IssueEventArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueEventArchiver.class);
+
+    private static final Comparator<IssueEvent> OLDEST_FIRST =
+            Comparator.comparing(IssueEvent::getCreatedAt).thenComparing(IssueEvent::getId);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final IssueEventRepository eventRepository;
+    private final IssueEventArchiveRepository archiveRepository;
+    private final TransactionTemplate tx;
+    private final int hotMonths;
+    private final int batchSize;
+
+    public IssueEventArchiver(IssueEventRepository eventRepository,
+                              IssueEventArchiveRepository archiveRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${events.archive.hotMonths:3}") int hotMonths,
+                              @Value("${events.archive.batchSize:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.archiveRepository = archiveRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.hotMonths = hotMonths;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Start of the oldest month that stays in issue_events; everything before it gets archived.
+     */
+    public Instant hotSince() {
+        return monthStart(YearMonth.now(ZoneOffset.UTC).minusMonths(hotMonths));
+    }
+
+    @Scheduled(fixedDelayString = "${events.archive.runMillis:21600000}", initialDelayString = "${events.archive.runMillis:21600000}")
+    public void archive() {
+        if (hotMonths <= 0) return;
+        Instant hotSince = hotSince();
+        Instant oldest;
+        while ((oldest = eventRepository.findOldestCreatedAt()) != null && oldest.isBefore(hotSince)) {
+            YearMonth month = YearMonth.from(oldest.atZone(ZoneOffset.UTC));
+            int moved = archiveMonth(month);
+            log.info("Archived {} issue event(s) of {}", moved, month);
+            if (moved == 0) {
+                log.warn("Archiving {} made no progress, stopping until the next run", month);
+                return;
+            }
+        }
+    }
+
+    private int archiveMonth(YearMonth month) {
+        Instant from = monthStart(month);
+        Instant to = monthStart(month.plusMonths(1));
+        int moved = 0;
+        String afterIssueId = "";
+        while (true) {
+            List<String> issueIds = eventRepository.findIssueIdsBetween(from, to, afterIssueId, PageRequest.of(0, batchSize));
+            if (issueIds.isEmpty()) return moved;
+            Integer n = tx.execute(status -> archiveBatch(month.toString(), issueIds, from, to));
+            moved += n == null ? 0 : n;
+            afterIssueId = issueIds.get(issueIds.size() - 1);
+        }
+    }
+
+    private int archiveBatch(String month, List<String> issueIds, Instant from, Instant to) {
+        Map<String, List<IssueEvent>> byIssue = new LinkedHashMap<>();
+        List<IssueEvent> events = eventRepository.findByIssuesBetween(issueIds, from, to);
+        for (IssueEvent e : events) byIssue.computeIfAbsent(e.getIssueId(), k -> new ArrayList<>()).add(e);
+
+        // a month archived before (e.g. late writes from the async sink) is merged, not duplicated
+        Map<String, IssueEventArchive> existing = new HashMap<>();
+        for (IssueEventArchive a : archiveRepository.findByMonthAndIssueIdIn(month, byIssue.keySet())) {
+            existing.put(a.getIssueId(), a);
+        }
+        for (Map.Entry<String, List<IssueEvent>> entry : byIssue.entrySet()) {
+            IssueEventArchive row = existing.get(entry.getKey());
+            Map<String, IssueEvent> merged = new LinkedHashMap<>();
+            if (row != null) {
+                for (IssueEvent e : EventArchiveCodec.decode(row.getIssueId(), row.getData())) merged.put(e.getId(), e);
+            } else {
+                row = new IssueEventArchive();
+                row.setIssueId(entry.getKey());
+                row.setMonth(month);
+            }
+            for (IssueEvent e : entry.getValue()) merged.put(e.getId(), e);
+            List<IssueEvent> sorted = new ArrayList<>(merged.values());
+            sorted.sort(OLDEST_FIRST);
+            row.setData(EventArchiveCodec.encode(sorted));
+            row.setEventCount(sorted.size());
+            row.setLastCreatedAt(sorted.get(sorted.size() - 1).getCreatedAt());
+            // new rows: persist, not save(), which would SELECT the pre-assigned id first
+            if (!existing.containsKey(row.getIssueId())) em.persist(row);
+        }
+        eventRepository.deleteByIssuesBetween(byIssue.keySet(), from, to);
+        return events.size();
+    }
+
+    static Instant monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
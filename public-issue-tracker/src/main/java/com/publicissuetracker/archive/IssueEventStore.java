@@ -0,0 +1,112 @@
+package com.publicissuetracker.archive;
+
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.IssueEventArchive;
+import com.publicissuetracker.repository.IssueEventArchiveRepository;
+import com.publicissuetracker.repository.IssueEventRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-issue keyset reads over issue_events and issue_event_archive together, with the same
+ * contract as the IssueEventRepository seek queries (excludeType, window, ordering).
+ *
+ * The archiver moves an issue's months oldest first, so every archived event of an issue is older
+ * than all of its events still in issue_events. Recent pages are therefore answered by the hot
+ * table alone; only a page that runs past the issue's oldest hot event decompresses archived
+ * months, one month at a time and only as many as the page needs. Each call reads both tables in
+ * one transaction, so a concurrent archiver batch is seen either before or after.
+ */
+@Component
+@Transactional(readOnly = true)
+public class IssueEventStore {
+
+    private static final String LAST_MONTH = "9999-12";
+
+    private final IssueEventRepository eventRepository;
+    private final IssueEventArchiveRepository archiveRepository;
+
+    public IssueEventStore(IssueEventRepository eventRepository, IssueEventArchiveRepository archiveRepository) {
+        this.eventRepository = eventRepository;
+        this.archiveRepository = archiveRepository;
+    }
+
+    /** Newest events of an issue first. */
+    public List<IssueEvent> findNewestByIssue(String issueId, String excludeType, Pageable window) {
+        List<IssueEvent> hot = eventRepository.findNewestByIssue(issueId, excludeType, window);
+        return olderFromArchive(hot, issueId, excludeType, null, null, window.getPageSize());
+    }
+
+    /** Events of an issue older than (createdAt, id), newest first. */
+    public List<IssueEvent> findByIssueBefore(String issueId, String excludeType, Instant createdAt, String id,
+                                              Pageable window) {
+        List<IssueEvent> hot = eventRepository.findByIssueBefore(issueId, excludeType, createdAt, id, window);
+        return olderFromArchive(hot, issueId, excludeType, createdAt, id, window.getPageSize());
+    }
+
+    /** Events of an issue newer than (createdAt, id), oldest first. */
+    public List<IssueEvent> findByIssueAfter(String issueId, String excludeType, Instant createdAt, String id,
+                                             Pageable window) {
+        int want = window.getPageSize();
+        List<IssueEvent> out = new ArrayList<>();
+        Optional<IssueEventArchive> month =
+                archiveRepository.findFirstByIssueIdAndMonthGreaterThanEqualOrderByMonthAsc(issueId, monthOf(createdAt));
+        while (month.isPresent() && out.size() < want) {
+            for (IssueEvent e : EventArchiveCodec.decode(issueId, month.get().getData())) {
+                if (out.size() == want) break;
+                if (matches(e, excludeType) && isAfter(e, createdAt, id)) out.add(e);
+            }
+            month = archiveRepository.findFirstByIssueIdAndMonthGreaterThanOrderByMonthAsc(issueId, month.get().getMonth());
+        }
+        if (out.size() < want) {
+            out.addAll(eventRepository.findByIssueAfter(issueId, excludeType, createdAt, id,
+                    PageRequest.of(0, want - out.size())));
+        }
+        return out;
+    }
+
+    // tops up a newest-first hot page with archived events older than the cursor (null = no cursor)
+    private List<IssueEvent> olderFromArchive(List<IssueEvent> hot, String issueId, String excludeType,
+                                              Instant createdAt, String id, int want) {
+        if (hot.size() >= want) return hot;
+        List<IssueEvent> out = new ArrayList<>(hot);
+        Optional<IssueEventArchive> month = archiveRepository.findFirstByIssueIdAndMonthLessThanEqualOrderByMonthDesc(
+                issueId, createdAt == null ? LAST_MONTH : monthOf(createdAt));
+        while (month.isPresent() && out.size() < want) {
+            List<IssueEvent> events = EventArchiveCodec.decode(issueId, month.get().getData());
+            for (int i = events.size() - 1; i >= 0 && out.size() < want; i--) {
+                IssueEvent e = events.get(i);
+                if (matches(e, excludeType) && (createdAt == null || isBefore(e, createdAt, id))) out.add(e);
+            }
+            month = archiveRepository.findFirstByIssueIdAndMonthLessThanOrderByMonthDesc(issueId, month.get().getMonth());
+        }
+        return out;
+    }
+
+    private static boolean matches(IssueEvent e, String excludeType) {
+        return excludeType == null || !excludeType.equals(e.getType());
+    }
+
+    private static boolean isBefore(IssueEvent e, Instant createdAt, String id) {
+        int c = e.getCreatedAt().compareTo(createdAt);
+        return c < 0 || (c == 0 && e.getId().compareTo(id) < 0);
+    }
+
+    private static boolean isAfter(IssueEvent e, Instant createdAt, String id) {
+        int c = e.getCreatedAt().compareTo(createdAt);
+        return c > 0 || (c == 0 && e.getId().compareTo(id) > 0);
+    }
+
+    static String monthOf(Instant t) {
+        return YearMonth.from(t.atZone(ZoneOffset.UTC)).toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.publicissuetracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process Caffeine caches, bounded by size and TTL and recording hit/miss stats
+ * (GET /api/v1/admin/cache/stats).
+ *
+ * - issues: IssueResponse by id, loaded from the primary. Evicted after commit on every
+ *   IssueChangedEvent / CommentAddedEvent (IssueCacheEvictionListener); the TTL bounds staleness
+ *   if a read races an eviction.
+ * - users: UserSnapshot (name, role, token revocation) by id, checked by JwtAuthenticationFilter on
+ *   every authenticated request; loaded from the primary and replaced after commit when the role
+ *   changes or tokens are revoked.
+ * - tokens: verified JWT claims by compact token (JwtUtil); each entry expires at the token's exp,
+ *   so its spec must only bound the size.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ISSUES = "issues";
+    public static final String USERS = "users";
+    public static final String TOKENS = "tokens";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.issues.spec:maximumSize=10000,expireAfterWrite=5m}") String issuesSpec,
+                                     @Value("${cache.users.spec:maximumSize=10000,expireAfterWrite=10m}") String usersSpec,
+                                     @Value("${cache.tokens.spec:maximumSize=10000}") String tokensSpec) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        // don't cache "not found": ids that show up later must not be masked by a cached null. A put of null
+        // throws, so every @Cacheable returning Optional (unwrapped to null when empty) needs unless = "#result == null"
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(ISSUES, Caffeine.from(issuesSpec).recordStats().build());
+        manager.registerCustomCache(USERS, Caffeine.from(usersSpec).recordStats().build());
+        manager.registerCustomCache(TOKENS, Caffeine.from(tokensSpec).expireAfter(new UntilTokenExpires()).recordStats().build());
+        return manager;
+    }
+
+    private static final class UntilTokenExpires implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (!(value instanceof Claims claims) || claims.getExpiration() == null) return 0;
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -20,7 +20,7 @@ public class CorsConfig {
         config.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
 
         // explicitly allow Authorization header (and content-type)
-        config.setAllowedHeaders(List.of("Authorization","Content-Type","Accept"));
+        config.setAllowedHeaders(List.of("Authorization","Content-Type","Accept","Last-Event-ID"));
 
         // allow the browser to read the Authorization header in the response if needed
         config.setExposedHeaders(List.of("Authorization"));
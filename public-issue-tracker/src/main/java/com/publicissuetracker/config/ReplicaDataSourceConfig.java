@@ -0,0 +1,90 @@
+package com.publicissuetracker.config;
+
+import com.publicissuetracker.datasource.ReplicaRoutingDataSource;
+import com.publicissuetracker.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing, active only when datasource.replicas.urls is set. Without it Spring Boot's
+ * single spring.datasource pool is used as before.
+ *
+ * The primary pool is still configured through spring.datasource.* (and spring.datasource.hikari.*);
+ * each replica gets its own read-only Hikari pool with the same credentials unless
+ * datasource.replicas.username / password are given. @Transactional(readOnly = true) work is routed
+ * to the replicas, everything else to the primary (see ReplicaRoutingDataSource).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+    private ReplicaRoutingDataSource router;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 DataSourceProperties properties,
+                                 @Value("${datasource.replicas.urls}") List<String> urls,
+                                 @Value("${datasource.replicas.username:}") String username,
+                                 @Value("${datasource.replicas.password:}") String password,
+                                 @Value("${datasource.replicas.maximumPoolSize:10}") int poolSize,
+                                 @Value("${datasource.replicas.stickySeconds:5}") long stickySeconds,
+                                 @Value("${datasource.replicas.maxLagSeconds:5}") long maxLagSeconds) {
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(urls.get(i).trim());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            pool.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            pools.add(pool);
+            replicaPools.add(pool);
+        }
+        router = new ReplicaRoutingDataSource(primaryDataSource, pools,
+                ReplicaDataSourceConfig::currentUserId, Duration.ofSeconds(stickySeconds), maxLagSeconds);
+        router.afterPropertiesSet();
+        // defer picking a target until the first statement, when the transaction's readOnly flag is known
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lagCheckMillis:2000}")
+    public void checkReplicaLag() {
+        if (router != null) router.checkLag();
+    }
+
+    @PreDestroy
+    public void closeReplicaPools() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    private static String currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser u ? u.getId() : null;
+    }
+}
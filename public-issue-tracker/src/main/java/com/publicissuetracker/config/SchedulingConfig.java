@@ -0,0 +1,15 @@
+package com.publicissuetracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (replica lag checks, ...). They run on Spring Boot's shared
+ * task scheduler, sized with spring.task.scheduling.pool.size: with the default single thread a
+ * long job (archiving, counter reconcile, a slow webhook) would delay every other one, including
+ * the lag check that takes a lagging replica out of rotation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
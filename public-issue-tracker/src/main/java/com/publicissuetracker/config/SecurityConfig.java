@@ -1,8 +1,10 @@
 package com.publicissuetracker.config;
 
-import com.publicissuetracker.repository.UserRepository;
 import com.publicissuetracker.security.JwtAuthenticationFilter;
 import com.publicissuetracker.security.JwtUtil;
+import com.publicissuetracker.service.UserService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,9 +20,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt with the configured cost factor (log2 rounds). Raising it takes effect for existing
+     * users on their next login (PasswordHasher.needsRehash).
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -28,8 +34,8 @@ public class SecurityConfig {
      * Note: we return the filter instance (not annotated as @Component).
      */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
-        return new JwtAuthenticationFilter(jwtUtil, userRepository);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+        return new JwtAuthenticationFilter(jwtUtil, userService);
     }
 
     @Bean
@@ -45,6 +51,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // allow unauthenticated access to auth endpoints, actuator and H2 console
                         .requestMatchers("/api/v1/auth/**", "/actuator/**", "/h2-console/**").permitAll()
+                        // async re-dispatches (end of an SSE / streamed response) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // allow preflight OPTIONS requests from the browser
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // all other requests require authentication
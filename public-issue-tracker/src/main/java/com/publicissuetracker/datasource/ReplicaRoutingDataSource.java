@@ -0,0 +1,178 @@
+package com.publicissuetracker.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * The lookup key is decided when the first statement of a transaction needs a physical connection
+ * (wrap this in a LazyConnectionDataSourceProxy), by which time Spring has published the
+ * transaction's readOnly flag. Read-only work goes round-robin over the healthy replicas and falls
+ * back to the primary when:
+ * - the current user wrote something within the last stickyWindow (read-your-writes),
+ * - the read runs inside onPrimary() (results that are cached, see below), or
+ * - every replica is down or more than maxLagSeconds behind (see checkLag()).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Supplier<String> currentUser;
+    private final Cache<String, Boolean> recentWriters;
+    private final long maxLagSeconds;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaPools,
+                                    Supplier<String> currentUser, Duration stickyWindow, long maxLagSeconds) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaPools.size(); i++) {
+            Replica r = new Replica("replica-" + i, replicaPools.get(i));
+            replicas.add(r);
+            targets.put(r.key, r.pool);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.currentUser = currentUser;
+        this.recentWriters = stickyWindow.isZero() ? null
+                : Caffeine.newBuilder().expireAfterWrite(stickyWindow).maximumSize(100_000).build();
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Run a read on the primary even in a read-only transaction. For reads that fill a cache: a
+     * replica's pre-change copy would otherwise be kept for the whole TTL, after the change's
+     * after-commit eviction. Takes effect if the transaction has no connection yet (it gets one
+     * at its first statement); a no-op without replicas.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (primaryOnly.get() != null) return read.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            primaryOnly.remove();
+        }
+    }
+
+    /**
+     * onPrimary for work that returns nothing: background jobs that must see their own last
+     * writes (a replica may still be behind them) even in read-only repository calls.
+     */
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite(user);
+            return PRIMARY;
+        }
+        if (primaryOnly.get() != null) {
+            return PRIMARY;
+        }
+        if (user != null && recentWriters != null && recentWriters.getIfPresent(user) != null) {
+            return PRIMARY;
+        }
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica r = replicas.get((start + i) % n);
+            if (r.healthy) return r.key;
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Probe every replica with SHOW REPLICA STATUS and mark it unhealthy if it can't be reached,
+     * replication is stopped (Seconds_Behind_Source is NULL) or it is more than maxLagSeconds behind.
+     * A server that reports no replica status at all (e.g. a second standalone instance used for
+     * local testing) counts as in sync.
+     */
+    public void checkLag() {
+        for (Replica r : replicas) {
+            boolean healthy;
+            String reason;
+            try (Connection con = r.pool.getConnection();
+                 Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    healthy = true;
+                    reason = "no replica status";
+                } else {
+                    long lag = rs.getLong("Seconds_Behind_Source");
+                    if (rs.wasNull()) {
+                        healthy = false;
+                        reason = "replication stopped";
+                    } else {
+                        healthy = lag <= maxLagSeconds;
+                        reason = lag + "s behind";
+                    }
+                }
+            } catch (SQLException e) {
+                healthy = false;
+                reason = e.getMessage();
+            }
+            if (healthy != r.healthy) {
+                if (healthy) log.info("Read replica {} back in rotation ({})", r.key, reason);
+                else log.warn("Read replica {} taken out of rotation: {}", r.key, reason);
+            }
+            r.healthy = healthy;
+        }
+    }
+
+    private void rememberWrite(String user) {
+        // connections outside a transaction (lazy loading in the view) are reads, not writes
+        if (user == null || recentWriters == null || !TransactionSynchronizationManager.isActualTransactionActive()) return;
+        recentWriters.put(user, Boolean.TRUE);
+        // restart the window at commit, so a long transaction doesn't use it up
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    private static final class Replica {
+        final String key;
+        final DataSource pool;
+        volatile boolean healthy = true;
+
+        Replica(String key, DataSource pool) {
+            this.key = key;
+            this.pool = pool;
+        }
+    }
+}
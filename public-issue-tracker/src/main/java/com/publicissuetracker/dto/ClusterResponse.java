@@ -0,0 +1,14 @@
+package com.publicissuetracker.dto;
+
+import java.util.Map;
+
+/**
+ * One marker cluster at a given zoom level.
+ */
+public class ClusterResponse {
+    public double latitude;   // centroid
+    public double longitude;  // centroid
+    public int count;
+    public Map<String, Integer> byStatus;
+    public Map<String, Integer> byCategory;
+}
@@ -0,0 +1,22 @@
+package com.publicissuetracker.dto;
+
+/**
+ * Minimal per-marker payload for map views (no description / names / timestamps).
+ */
+public class IssueMarkerResponse {
+    public String id;
+    public double latitude;
+    public double longitude;
+    public String status;
+    public String category;
+
+    public IssueMarkerResponse() {}
+
+    public IssueMarkerResponse(String id, double latitude, double longitude, String status, String category) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.status = status;
+        this.category = category;
+    }
+}
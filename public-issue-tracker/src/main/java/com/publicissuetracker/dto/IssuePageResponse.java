@@ -0,0 +1,13 @@
+package com.publicissuetracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of issues from keyset pagination.
+ * nextCursor is null when there are no more results.
+ */
+public class IssuePageResponse {
+    public List<IssueResponse> items;
+    public String nextCursor;
+    public int limit;
+}
@@ -25,5 +25,9 @@ public class IssueResponse {
     public Instant verifiedAt;
 
     public Integer upvoteCount;
+
+    // number of comments and a shortened copy of the newest one (null when there are none)
+    public Integer commentCount;
+    public CommentResponse latestComment;
 }
 
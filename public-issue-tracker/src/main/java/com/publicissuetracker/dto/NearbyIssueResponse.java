@@ -0,0 +1,9 @@
+package com.publicissuetracker.dto;
+
+/**
+ * An issue returned by a "nearby" search together with its distance from the query point.
+ */
+public class NearbyIssueResponse {
+    public double distanceMeters;
+    public IssueResponse issue;
+}
@@ -0,0 +1,9 @@
+package com.publicissuetracker.dto;
+
+/**
+ * An issue returned by full-text search together with its relevance score (BM25, higher is better).
+ */
+public class SearchHitResponse {
+    public double score;
+    public IssueResponse issue;
+}
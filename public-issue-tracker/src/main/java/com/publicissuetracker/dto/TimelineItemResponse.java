@@ -0,0 +1,21 @@
+package com.publicissuetracker.dto;
+
+import java.time.Instant;
+
+/**
+ * One entry of an issue's merged timeline: either an event (status change, assignment, ...)
+ * or a comment. kind tells which; fields that don't apply to that kind are null.
+ */
+public class TimelineItemResponse {
+    public String kind; // EVENT or COMMENT
+    public String id;
+    public String issueId;
+    public String type; // event type; COMMENT for comments
+    public String actorId;
+    public String actorName;
+    public String fromStatus;
+    public String toStatus;
+    public String note;
+    public String message;
+    public Instant createdAt;
+}
@@ -0,0 +1,16 @@
+package com.publicissuetracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of an issue's comments or events, oldest first within the page.
+ *
+ * Pass olderCursor back as ?before= for the previous (older) page and newerCursor as ?after= for
+ * the next (newer) one; each is null when there is nothing more in that direction.
+ */
+public class TimelinePageResponse<T> {
+    public List<T> items;
+    public String olderCursor;
+    public String newerCursor;
+    public int limit;
+}
@@ -0,0 +1,9 @@
+package com.publicissuetracker.dto;
+
+/**
+ * An issue in the trending list with its current activity score (decayed to now, higher is hotter).
+ */
+public class TrendingIssueResponse {
+    public double score;
+    public IssueResponse issue;
+}
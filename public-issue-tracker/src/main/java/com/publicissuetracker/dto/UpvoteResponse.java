@@ -0,0 +1,11 @@
+package com.publicissuetracker.dto;
+
+/**
+ * Result of POST /issues/{id}/upvote. recorded is false when the user had already voted;
+ * upvoteCount includes votes not yet flushed to the database.
+ */
+public class UpvoteResponse {
+    public String issueId;
+    public boolean recorded;
+    public long upvoteCount;
+}
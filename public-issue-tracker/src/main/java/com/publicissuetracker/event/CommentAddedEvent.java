@@ -0,0 +1,37 @@
+package com.publicissuetracker.event;
+
+import com.publicissuetracker.model.IssueComment;
+import com.publicissuetracker.model.IssueEvent;
+
+import java.time.Instant;
+
+/**
+ * Published by CommentServiceImpl after a comment has been saved (listeners usually run after commit).
+ * auditEvent is the COMMENT IssueEvent recorded with it.
+ */
+public class CommentAddedEvent {
+
+    private final String commentId;
+    private final String issueId;
+    private final String authorId;
+    private final String message;
+    private final Instant createdAt;
+    private final IssueEvent auditEvent;
+
+    public CommentAddedEvent(IssueComment comment, IssueEvent auditEvent) {
+        this.commentId = comment.getId();
+        this.issueId = comment.getIssueId();
+        this.authorId = comment.getAuthorId();
+        this.message = comment.getMessage();
+        this.createdAt = comment.getCreatedAt();
+        this.auditEvent = auditEvent;
+    }
+
+    // --- getters ---
+    public String getCommentId() { return commentId; }
+    public String getIssueId() { return issueId; }
+    public String getAuthorId() { return authorId; }
+    public String getMessage() { return message; }
+    public Instant getCreatedAt() { return createdAt; }
+    public IssueEvent getAuditEvent() { return auditEvent; }
+}
@@ -0,0 +1,92 @@
+package com.publicissuetracker.event;
+
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.IssueEvent;
+
+import java.time.Instant;
+
+/**
+ * Published by the service layer whenever an issue is created or changed.
+ *
+ * It carries a detached snapshot of the fields in-memory indexes care about, so listeners
+ * running after commit never touch the (already closed) persistence context. auditEvent is the
+ * IssueEvent row recorded for the change (a plain entity without associations, safe to read).
+ */
+public class IssueChangedEvent {
+
+    // change types (mirror IssueEvent.type values)
+    public static final String CREATED = "CREATED";
+    public static final String STATUS_CHANGE = "STATUS_CHANGE";
+    public static final String ASSIGNMENT = "ASSIGNMENT";
+
+    private final String changeType;
+    private final String issueId;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String status;
+    private final String previousStatus;
+    private final Double latitude;
+    private final Double longitude;
+    private final String createdById;
+    private final String assignedToId;
+    private final String previousAssignedToId;
+    private final String actorId;
+    private final Instant createdAt;
+    private final Instant occurredAt;
+    private final IssueEvent auditEvent;
+
+    private IssueChangedEvent(String changeType, Issue issue, String previousStatus,
+                              String previousAssignedToId, IssueEvent auditEvent) {
+        this.changeType = changeType;
+        this.issueId = issue.getId();
+        this.title = issue.getTitle();
+        this.description = issue.getDescription();
+        this.category = issue.getCategory();
+        this.status = issue.getStatus();
+        this.previousStatus = previousStatus;
+        this.latitude = issue.getLatitude();
+        this.longitude = issue.getLongitude();
+        // getId() on a lazy proxy does not initialize it
+        this.createdById = issue.getCreatedBy() != null ? issue.getCreatedBy().getId() : null;
+        this.assignedToId = issue.getAssignedTo() != null ? issue.getAssignedTo().getId() : null;
+        this.previousAssignedToId = previousAssignedToId;
+        this.actorId = auditEvent.getActorId();
+        this.createdAt = issue.getCreatedAt();
+        this.occurredAt = auditEvent.getCreatedAt();
+        this.auditEvent = auditEvent;
+    }
+
+    public static IssueChangedEvent created(Issue issue, IssueEvent auditEvent) {
+        return new IssueChangedEvent(CREATED, issue, null, null, auditEvent);
+    }
+
+    public static IssueChangedEvent statusChanged(Issue issue, String previousStatus, IssueEvent auditEvent) {
+        String assignee = issue.getAssignedTo() != null ? issue.getAssignedTo().getId() : null;
+        return new IssueChangedEvent(STATUS_CHANGE, issue, previousStatus, assignee, auditEvent);
+    }
+
+    public static IssueChangedEvent assigned(Issue issue, String previousAssignedToId, IssueEvent auditEvent) {
+        return new IssueChangedEvent(ASSIGNMENT, issue, issue.getStatus(), previousAssignedToId, auditEvent);
+    }
+
+    public boolean hasLocation() { return latitude != null && longitude != null; }
+
+    // --- getters ---
+    public String getChangeType() { return changeType; }
+    public String getIssueId() { return issueId; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getCategory() { return category; }
+    public String getStatus() { return status; }
+    public String getPreviousStatus() { return previousStatus; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public String getCreatedById() { return createdById; }
+    public String getAssignedToId() { return assignedToId; }
+    public String getPreviousAssignedToId() { return previousAssignedToId; }
+    public String getActorId() { return actorId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public IssueEvent getAuditEvent() { return auditEvent; }
+}
@@ -0,0 +1,17 @@
+package com.publicissuetracker.event;
+
+/**
+ * Published by SpatialIndexServiceImpl right after a rebuilt index has replaced the old one, so
+ * anything derived from the old index (cached tiles) can be dropped.
+ */
+public class SpatialIndexRebuiltEvent {
+
+    private final int size;
+
+    public SpatialIndexRebuiltEvent(int size) {
+        this.size = size;
+    }
+
+    // --- getters ---
+    public int getSize() { return size; }
+}
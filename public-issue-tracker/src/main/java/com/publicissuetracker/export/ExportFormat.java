@@ -0,0 +1,35 @@
+package com.publicissuetracker.export;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the admin export endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() { return mediaType; }
+    public String getExtension() { return extension; }
+
+    /**
+     * Parse a ?format= value (case-insensitive, null = NDJSON).
+     * @throws IllegalArgumentException for unknown formats
+     */
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) return NDJSON;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be ndjson or csv");
+        }
+    }
+}
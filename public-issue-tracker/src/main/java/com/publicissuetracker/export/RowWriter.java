@@ -0,0 +1,124 @@
+package com.publicissuetracker.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows (one Object[] per row, values in column order) straight to an output stream.
+ * Nothing is buffered beyond the writer's own buffer, so memory does not grow with the row count.
+ */
+public abstract class RowWriter implements AutoCloseable {
+
+    protected final String[] columns;
+
+    protected RowWriter(String[] columns) {
+        this.columns = columns;
+    }
+
+    public static RowWriter create(ExportFormat format, OutputStream out, String[] columns, ObjectMapper mapper)
+            throws IOException {
+        return format == ExportFormat.CSV ? new Csv(out, columns) : new Ndjson(out, columns, mapper);
+    }
+
+    public abstract void write(Object[] row) throws IOException;
+
+    /** Push buffered rows to the client (called every few hundred rows so downloads progress). */
+    public abstract void flush() throws IOException;
+
+    /** Flushes; the underlying response stream is left open for the container to close. */
+    @Override
+    public abstract void close() throws IOException;
+
+    /** One JSON object per line, keyed by column name; dates as ISO-8601 via the app's ObjectMapper. */
+    static final class Ndjson extends RowWriter {
+        private final JsonGenerator gen;
+
+        Ndjson(OutputStream out, String[] columns, ObjectMapper mapper) throws IOException {
+            super(columns);
+            this.gen = mapper.getFactory().createGenerator(out);
+            this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gen.setRootValueSeparator(null); // rows are separated by '\n' only, not Jackson's default space
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            gen.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                gen.writeFieldName(columns[i]);
+                gen.writeObject(row[i]);
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            gen.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            gen.close();
+        }
+    }
+
+    /** RFC 4180 CSV with a header line. */
+    static final class Csv extends RowWriter {
+        private final Writer w;
+
+        Csv(OutputStream out, String[] columns) throws IOException {
+            super(columns);
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine(columns);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writeLine(row);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            w.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            w.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) w.write(',');
+                Object v = values[i];
+                if (v == null) continue;
+                if (v instanceof Number) {
+                    w.write(v.toString());
+                } else {
+                    writeText(v.toString());
+                }
+            }
+            w.write("\r\n");
+        }
+
+        private void writeText(String s) throws IOException {
+            // keep spreadsheet apps from evaluating user-entered text as a formula
+            if (!s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0) s = "'" + s;
+            boolean quote = s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+            if (!quote) {
+                w.write(s);
+                return;
+            }
+            w.write('"');
+            w.write(s.replace("\"", "\"\""));
+            w.write('"');
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.publicissuetracker.geo;
+
+import com.publicissuetracker.dto.ClusterResponse;
+import com.publicissuetracker.util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pre-aggregated marker clusters for every zoom level from 0 to maxZoom.
+ *
+ * At zoom z the world is split into a (2^(z + CELL_SHIFT))^2 Web Mercator grid - a cell is
+ * 1/2^CELL_SHIFT of a 256px tile, i.e. 64px on screen. Each occupied cell keeps count, the
+ * coordinate sums for the centroid and per-status / per-category counts, so adding, moving or
+ * re-statusing an issue is O(maxZoom) and a query returns at most one cluster per cell in the box,
+ * regardless of how many issues exist.
+ */
+public class ClusterIndex {
+
+    static final int CELL_SHIFT = 2;
+
+    private final int maxZoom;
+    private final StringDictionary statuses;
+    private final StringDictionary categories;
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<String, Member> members = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ClusterIndex(int maxZoom, StringDictionary statuses, StringDictionary categories) {
+        if (maxZoom < 0 || maxZoom + CELL_SHIFT > 30) {
+            throw new IllegalArgumentException("maxZoom must be between 0 and " + (30 - CELL_SHIFT));
+        }
+        this.maxZoom = maxZoom;
+        this.statuses = statuses;
+        this.categories = categories;
+        for (int z = 0; z <= maxZoom; z++) levels.add(new HashMap<>());
+    }
+
+    public int getMaxZoom() { return maxZoom; }
+
+    public void upsert(String id, double lat, double lng, String status, String category) {
+        Member next = new Member(lat, lng, statuses.codeOf(status), categories.codeOf(category));
+        lock.writeLock().lock();
+        try {
+            Member prev = members.put(id, next);
+            if (prev != null) apply(prev, -1);
+            apply(next, +1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Member prev = members.remove(id);
+            if (prev != null) apply(prev, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            members.clear();
+            for (Map<Long, Cell> level : levels) level.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return members.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clusters at the given zoom (clamped to maxZoom) whose cell overlaps the bbox.
+     * minLng must be <= maxLng; callers split antimeridian-crossing boxes.
+     */
+    public List<ClusterResponse> query(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        int shift = z + CELL_SHIFT;
+        int x0 = cellIndex(WebMercator.x(minLng), shift), x1 = cellIndex(WebMercator.x(maxLng), shift);
+        // mercator y grows southwards
+        int y0 = cellIndex(WebMercator.y(maxLat), shift), y1 = cellIndex(WebMercator.y(minLat), shift);
+
+        List<ClusterResponse> out = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> level = levels.get(z);
+            long cellsInBox = (long) (x1 - x0 + 1) * (long) (y1 - y0 + 1);
+            if (cellsInBox <= level.size()) {
+                for (int y = y0; y <= y1; y++) {
+                    for (int x = x0; x <= x1; x++) {
+                        Cell c = level.get(key(x, y));
+                        if (c != null) out.add(toResponse(c));
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, Cell> e : level.entrySet()) {
+                    int x = (int) (e.getKey() >>> 32);
+                    int y = (int) (e.getKey() & 0xffffffffL);
+                    if (x >= x0 && x <= x1 && y >= y0 && y <= y1) out.add(toResponse(e.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return out;
+    }
+
+    // --- internals (callers hold the write lock) ---
+
+    private void apply(Member m, int delta) {
+        double mx = WebMercator.x(m.lng), my = WebMercator.y(m.lat);
+        for (int z = 0; z <= maxZoom; z++) {
+            int shift = z + CELL_SHIFT;
+            long k = key(cellIndex(mx, shift), cellIndex(my, shift));
+            Map<Long, Cell> level = levels.get(z);
+            Cell c = level.get(k);
+            if (c == null) {
+                if (delta < 0) continue;
+                c = new Cell();
+                level.put(k, c);
+            }
+            c.count += delta;
+            c.sumLat += delta * m.lat;
+            c.sumLng += delta * m.lng;
+            c.statusCounts = bump(c.statusCounts, m.status, delta);
+            c.categoryCounts = bump(c.categoryCounts, m.category, delta);
+            if (c.count <= 0) level.remove(k);
+        }
+    }
+
+    private ClusterResponse toResponse(Cell c) {
+        ClusterResponse r = new ClusterResponse();
+        r.count = c.count;
+        r.latitude = c.sumLat / c.count;
+        r.longitude = c.sumLng / c.count;
+        r.byStatus = decode(c.statusCounts, statuses);
+        r.byCategory = decode(c.categoryCounts, categories);
+        return r;
+    }
+
+    private static Map<String, Integer> decode(int[] counts, StringDictionary dict) {
+        Map<String, Integer> m = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) m.put(dict.valueOf(i), counts[i]);
+        }
+        return m;
+    }
+
+    private static int[] bump(int[] counts, int code, int delta) {
+        if (code >= counts.length) counts = Arrays.copyOf(counts, code + 1);
+        counts[code] += delta;
+        return counts;
+    }
+
+    private static int cellIndex(double unit, int shift) {
+        return (int) (unit * (1L << shift));
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        int[] statusCounts = new int[0];
+        int[] categoryCounts = new int[0];
+    }
+
+    private static final class Member {
+        final double lat;
+        final double lng;
+        final int status;
+        final int category;
+
+        Member(double lat, double lng, int status, int category) {
+            this.lat = lat;
+            this.lng = lng;
+            this.status = status;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.publicissuetracker.geo;
+
+import java.util.LinkedHashSet;
+
+/**
+ * Standard base-32 geohash encoding plus the distance helpers used by "nearby" queries.
+ */
+public final class GeoHash {
+
+    /** Stored precision: 9 chars is roughly a 4.8m x 4.8m cell. */
+    public static final int STORED_PRECISION = 9;
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private GeoHash() {}
+
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder sb = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, ch = 0;
+        while (sb.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) { ch = (ch << 1) | 1; minLng = mid; } else { ch <<= 1; maxLng = mid; }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) { ch = (ch << 1) | 1; minLat = mid; } else { ch <<= 1; maxLat = mid; }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                sb.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Longest precision (capped at STORED_PRECISION) whose cells are at least radiusMeters in both
+     * directions at this latitude, so that the query cell plus its 8 neighbours covers the whole circle.
+     */
+    public static int precisionForRadius(double radiusMeters, double lat) {
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        for (int p = STORED_PRECISION; p >= 1; p--) {
+            double[] dims = cellDegrees(p);
+            double heightM = dims[0] * METERS_PER_DEGREE_LAT;
+            double widthM = dims[1] * METERS_PER_DEGREE_LAT * cosLat;
+            if (heightM >= radiusMeters && widthM >= radiusMeters) return p;
+        }
+        return 1;
+    }
+
+    /**
+     * The cell containing (lat, lng) at the given precision plus its 8 neighbours (duplicates removed
+     * near the poles / antimeridian).
+     */
+    public static String[] cellAndNeighbours(double lat, double lng, int precision) {
+        // sample the centre of each neighbouring cell using the cell dimensions in degrees
+        double[] dims = cellDegrees(precision);
+        LinkedHashSet<String> cells = new java.util.LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                double nLat = Math.max(-90, Math.min(90, lat + dy * dims[0]));
+                double nLng = lng + dx * dims[1];
+                if (nLng < -180) nLng += 360;
+                if (nLng >= 180) nLng -= 360;
+                cells.add(encode(nLat, nLng, precision));
+            }
+        }
+        return cells.toArray(new String[0]);
+    }
+
+    /** The 32 cells one character longer that make up this cell. */
+    public static String[] children(String hash) {
+        String[] out = new String[BASE32.length];
+        for (int i = 0; i < BASE32.length; i++) out[i] = hash + BASE32[i];
+        return out;
+    }
+
+    /**
+     * Distance in meters from (lat, lng) to the nearest point of a cell (0 inside it). Measured to
+     * the nearest corner / edge point in degrees, which is within a metre of the true great-circle
+     * minimum for cells up to the nearby search's size.
+     */
+    public static double distanceToCellMeters(double lat, double lng, String hash) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            int ch = base32Index(hash.charAt(i));
+            if (ch < 0) throw new IllegalArgumentException("Invalid geohash: " + hash);
+            for (int b = 4; b >= 0; b--) {
+                boolean set = ((ch >> b) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) minLng = mid; else maxLng = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) minLat = mid; else maxLat = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        double nearLat = Math.max(minLat, Math.min(maxLat, lat));
+        // the cell may be just across the antimeridian: also measure from the point's 360-degree images
+        double best = Double.MAX_VALUE;
+        for (double wrapped = lng - 360; wrapped <= lng + 360; wrapped += 360) {
+            double nearLng = Math.max(minLng, Math.min(maxLng, wrapped));
+            best = Math.min(best, haversineMeters(lat, wrapped, nearLat, nearLng));
+        }
+        return best;
+    }
+
+    /** Great-circle distance in meters. */
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int base32Index(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) return i;
+        }
+        return -1;
+    }
+
+    // [latDegrees, lngDegrees] spanned by one cell
+    private static double[] cellDegrees(int precision) {
+        int bits = precision * 5;
+        int lngBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        return new double[]{180.0 / (1L << latBits), 360.0 / (1L << lngBits)};
+    }
+}
@@ -0,0 +1,229 @@
+package com.publicissuetracker.geo;
+
+import com.publicissuetracker.dto.IssueMarkerResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory uniform-grid spatial index over issue coordinates.
+ *
+ * Points live in parallel primitive arrays indexed by a "slot"; each grid cell holds the
+ * slots that fall inside it. A bounding-box query only visits the cells overlapping the box
+ * (or every occupied cell, if that is fewer) and checks the exact coordinates, so it never
+ * touches the database. Removed slots are recycled through a free list.
+ *
+ * Thread-safe: many concurrent readers, one writer at a time.
+ */
+public class IssueGridIndex {
+
+    private final double cellSizeDeg;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slot storage
+    private double[] lats = new double[1024];
+    private double[] lngs = new double[1024];
+    private long[] cellOf = new long[1024];
+    private String[] ids = new String[1024];
+    private String[] statuses = new String[1024];
+    private String[] categories = new String[1024];
+    private int highWater = 0;
+    private int[] freeSlots = new int[64];
+    private int freeCount = 0;
+
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntBucket> cells = new HashMap<>();
+
+    public IssueGridIndex(double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("cellSizeDeg must be positive");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+    }
+
+    /**
+     * Insert or move/update a point.
+     */
+    public void upsert(String id, double lat, double lng, String status, String category) {
+        lock.writeLock().lock();
+        try {
+            long cell = cellKey(cellY(lat), cellX(lng));
+            Integer existing = slotById.get(id);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                if (cellOf[slot] != cell) {
+                    removeFromCell(cellOf[slot], slot);
+                    cells.computeIfAbsent(cell, k -> new IntBucket()).add(slot);
+                }
+            } else {
+                slot = allocateSlot();
+                slotById.put(id, slot);
+                cells.computeIfAbsent(cell, k -> new IntBucket()).add(slot);
+            }
+            lats[slot] = lat;
+            lngs[slot] = lng;
+            cellOf[slot] = cell;
+            ids[slot] = id;
+            statuses[slot] = status;
+            categories[slot] = category;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot == null) return;
+            removeFromCell(cellOf[slot], slot);
+            ids[slot] = null;
+            statuses[slot] = null;
+            categories[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotById.clear();
+            cells.clear();
+            Arrays.fill(ids, null);
+            Arrays.fill(statuses, null);
+            Arrays.fill(categories, null);
+            highWater = 0;
+            freeCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return up to {@code limit} points inside [minLat, maxLat] x [minLng, maxLng] (inclusive).
+     * Callers split antimeridian-crossing boxes into two queries.
+     */
+    public List<IssueMarkerResponse> query(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        List<IssueMarkerResponse> out = new ArrayList<>();
+        if (limit <= 0 || minLat > maxLat || minLng > maxLng) return out;
+
+        lock.readLock().lock();
+        try {
+            int y0 = cellY(minLat), y1 = cellY(maxLat);
+            int x0 = cellX(minLng), x1 = cellX(maxLng);
+            long cellsInBox = (long) (y1 - y0 + 1) * (long) (x1 - x0 + 1);
+
+            if (cellsInBox <= cells.size()) {
+                for (int y = y0; y <= y1 && out.size() < limit; y++) {
+                    for (int x = x0; x <= x1 && out.size() < limit; x++) {
+                        IntBucket bucket = cells.get(cellKey(y, x));
+                        if (bucket != null) {
+                            collect(bucket, minLat, minLng, maxLat, maxLng, limit, out);
+                        }
+                    }
+                }
+            } else {
+                // box is larger than the occupied part of the grid: scan occupied cells instead
+                for (IntBucket bucket : cells.values()) {
+                    if (out.size() >= limit) break;
+                    collect(bucket, minLat, minLng, maxLat, maxLng, limit, out);
+                }
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- internals (callers hold the lock) ---
+
+    private void collect(IntBucket bucket, double minLat, double minLng, double maxLat, double maxLng,
+                         int limit, List<IssueMarkerResponse> out) {
+        for (int i = 0; i < bucket.size && out.size() < limit; i++) {
+            int s = bucket.values[i];
+            double lat = lats[s], lng = lngs[s];
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                out.add(new IssueMarkerResponse(ids[s], lat, lng, statuses[s], categories[s]));
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == lats.length) {
+            int n = lats.length * 2;
+            lats = Arrays.copyOf(lats, n);
+            lngs = Arrays.copyOf(lngs, n);
+            cellOf = Arrays.copyOf(cellOf, n);
+            ids = Arrays.copyOf(ids, n);
+            statuses = Arrays.copyOf(statuses, n);
+            categories = Arrays.copyOf(categories, n);
+        }
+        return highWater++;
+    }
+
+    private void removeFromCell(long cell, int slot) {
+        IntBucket bucket = cells.get(cell);
+        if (bucket != null && bucket.remove(slot) && bucket.size == 0) {
+            cells.remove(cell);
+        }
+    }
+
+    private int cellX(double lng) {
+        return (int) Math.floor((clamp(lng, -180, 180) + 180.0) / cellSizeDeg);
+    }
+
+    private int cellY(double lat) {
+        return (int) Math.floor((clamp(lat, -90, 90) + 90.0) / cellSizeDeg);
+    }
+
+    private static long cellKey(int y, int x) {
+        return ((long) y << 32) | (x & 0xffffffffL);
+    }
+
+    private static double clamp(double v, double lo, double hi) {
+        return v < lo ? lo : (v > hi ? hi : v);
+    }
+
+    /** Growable int list with O(1) unordered removal. */
+    private static final class IntBucket {
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        boolean remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == v) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
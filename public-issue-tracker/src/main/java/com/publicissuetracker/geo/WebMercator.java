@@ -0,0 +1,41 @@
+package com.publicissuetracker.geo;
+
+/**
+ * Web Mercator (EPSG:3857) helpers in normalized world coordinates: x and y are in [0, 1),
+ * with (0, 0) at the north-west corner, matching the usual z/x/y slippy-map tile scheme.
+ */
+public final class WebMercator {
+
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private WebMercator() {}
+
+    public static double x(double lng) {
+        double x = (lng + 180.0) / 360.0;
+        return clampUnit(x);
+    }
+
+    public static double y(double lat) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double rad = Math.toRadians(clamped);
+        double y = (1.0 - Math.log(Math.tan(rad) + 1.0 / Math.cos(rad)) / Math.PI) / 2.0;
+        return clampUnit(y);
+    }
+
+    /** Longitude of the west edge of tile column x at zoom z. */
+    public static double tileToLng(int x, int z) {
+        return x / (double) (1 << z) * 360.0 - 180.0;
+    }
+
+    /** Latitude of the north edge of tile row y at zoom z. */
+    public static double tileToLat(int y, int z) {
+        double n = Math.PI - 2.0 * Math.PI * y / (double) (1 << z);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static double clampUnit(double v) {
+        if (v < 0) return 0;
+        if (v >= 1) return Math.nextDown(1.0);
+        return v;
+    }
+}
@@ -0,0 +1,88 @@
+package com.publicissuetracker.metrics;
+
+import com.publicissuetracker.model.IssueStatusCount;
+import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.repository.IssueStatusCountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Recounts issues per (status, category, assignee) and corrects issue_status_counts where it
+ * drifted (writes outside IssueServiceImpl, manual SQL, ...). The first run after startup also
+ * fills the counters for issues that existed before them.
+ *
+ * The counters and the issues are read in one transaction without locks (possibly on a replica),
+ * i.e. from one consistent snapshot under InnoDB's default REPEATABLE READ, and compared there: issue changes move both in the same transaction, so any
+ * difference is drift. Each difference is then added to its counter as a delta in a short
+ * transaction; changes committed since the snapshot moved counter and issues alike and stay
+ * counted. Issue changes only wait for those few UPDATEs, never for the scan.
+ */
+@Component
+public class IssueCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueCounterReconciler.class);
+
+    private final IssueRepository issueRepository;
+    private final IssueStatusCountRepository countRepository;
+    private final IssueCounters counters;
+    private final TransactionTemplate snapshotTx;
+    private final TransactionTemplate tx;
+
+    public IssueCounterReconciler(IssueRepository issueRepository,
+                                  IssueStatusCountRepository countRepository,
+                                  IssueCounters counters,
+                                  PlatformTransactionManager transactionManager) {
+        this.issueRepository = issueRepository;
+        this.countRepository = countRepository;
+        this.counters = counters;
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setReadOnly(true);
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.counters.reconcileMillis:3600000}")
+    public void reconcile() {
+        Set<IssueStatusCount.Key> missing = new HashSet<>();
+        SortedMap<IssueStatusCount.Key, Long> drift = snapshotTx.execute(s -> drift(missing));
+        if (drift == null || drift.isEmpty()) return;
+        // combinations without a counter row yet (or whose row was deleted): create them first
+        missing.forEach(counters::recreate);
+        tx.executeWithoutResult(s -> counters.adjust(drift));
+    }
+
+    // counted minus counter value per combination, as of one snapshot; fills missing with the
+    // counted combinations that have no counter row
+    private SortedMap<IssueStatusCount.Key, Long> drift(Set<IssueStatusCount.Key> missing) {
+        Map<IssueStatusCount.Key, Long> stored = new HashMap<>();
+        for (IssueStatusCount c : countRepository.findAll()) stored.put(c.getKey(), c.getCount());
+
+        Map<IssueStatusCount.Key, Long> actual = new HashMap<>();
+        for (Object[] r : issueRepository.countByStatusCategoryAssignee()) {
+            actual.put(new IssueStatusCount.Key((String) r[0], (String) r[1], (String) r[2]), (Long) r[3]);
+        }
+
+        SortedMap<IssueStatusCount.Key, Long> drift = new TreeMap<>();
+        Set<IssueStatusCount.Key> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        for (IssueStatusCount.Key key : keys) {
+            long counter = stored.getOrDefault(key, 0L);
+            long expected = actual.getOrDefault(key, 0L);
+            if (!stored.containsKey(key)) missing.add(key);
+            if (counter == expected) continue;
+            log.warn("Issue counter {} was {}, recounted {}", key, counter, expected);
+            drift.put(key, expected - counter);
+        }
+        return drift;
+    }
+}
@@ -0,0 +1,142 @@
+package com.publicissuetracker.metrics;
+
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.IssueStatusCount;
+import com.publicissuetracker.repository.IssueStatusCountRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issue counts per (status, category, assignee), maintained in issue_status_counts by the
+ * transactions that create, move or reassign issues, so reading them costs the same however many
+ * issues there are. IssueCounterReconciler periodically checks them against the issues table.
+ */
+@Component
+public class IssueCounters {
+
+    private final IssueStatusCountRepository repository;
+    private final TransactionTemplate newTx;
+
+    // counter rows known to exist; they are never deleted, only set back to zero
+    private final Set<IssueStatusCount.Key> existing = ConcurrentHashMap.newKeySet();
+
+    public IssueCounters(IssueStatusCountRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Count a new issue; part of the transaction that inserts it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Issue issue) {
+        SortedMap<IssueStatusCount.Key, Long> deltas = new TreeMap<>();
+        deltas.put(IssueStatusCount.Key.of(issue), 1L);
+        apply(deltas);
+    }
+
+    /**
+     * Move one issue from one counter to another (status change, reassignment); part of the
+     * transaction that changes it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moved(IssueStatusCount.Key from, IssueStatusCount.Key to) {
+        if (from.equals(to)) return;
+        SortedMap<IssueStatusCount.Key, Long> deltas = new TreeMap<>();
+        deltas.put(from, -1L);
+        deltas.put(to, 1L);
+        apply(deltas);
+    }
+
+    /**
+     * Create the zero row of a counter if it is missing, in its own transaction. Done before the
+     * counter is updated: an UPDATE of a missing row would leave a gap lock that this insert then
+     * waits on.
+     */
+    public void ensure(IssueStatusCount.Key key) {
+        if (existing.contains(key)) return;
+        try {
+            newTx.executeWithoutResult(s -> {
+                if (!repository.existsById(key)) {
+                    repository.insertZero(key.getStatus(), key.getCategory(), key.getAssigneeId(), Instant.now());
+                }
+            });
+        } catch (DataIntegrityViolationException raced) {
+            // created by a concurrent transaction in the meantime
+        }
+        existing.add(key);
+    }
+
+    /**
+     * Add corrections (recounted minus counted, see IssueCounterReconciler) to the counters; each
+     * row is locked only until the calling transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(SortedMap<IssueStatusCount.Key, Long> deltas) {
+        apply(deltas);
+    }
+
+    // ensure() without trusting what is known to exist (the reconciler found the row missing)
+    void recreate(IssueStatusCount.Key key) {
+        existing.remove(key);
+        ensure(key);
+    }
+
+    /**
+     * Dashboard metrics, read from the counters only:
+     * totals per status plus the same broken down by category and by assignee ("unassigned").
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> metrics() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Map<String, Long>> byCategory = new TreeMap<>();
+        Map<String, Map<String, Long>> byAssignee = new TreeMap<>();
+        long total = 0;
+        for (IssueStatusCount c : repository.findAll()) {
+            if (c.getCount() == 0) continue;
+            IssueStatusCount.Key k = c.getKey();
+            String assignee = IssueStatusCount.UNASSIGNED.equals(k.getAssigneeId()) ? "unassigned" : k.getAssigneeId();
+            total += c.getCount();
+            byStatus.merge(k.getStatus(), c.getCount(), Long::sum);
+            byCategory.computeIfAbsent(k.getCategory(), x -> new TreeMap<>()).merge(k.getStatus(), c.getCount(), Long::sum);
+            byAssignee.computeIfAbsent(assignee, x -> new TreeMap<>()).merge(k.getStatus(), c.getCount(), Long::sum);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", total);
+        body.put("open", byStatus.getOrDefault("OPEN", 0L));
+        body.put("inProgress", byStatus.getOrDefault("IN_PROGRESS", 0L));
+        body.put("resolved", byStatus.getOrDefault("RESOLVED", 0L));
+        body.put("verified", byStatus.getOrDefault("VERIFIED", 0L));
+        body.put("byStatus", byStatus);
+        body.put("byCategory", byCategory);
+        body.put("byAssignee", byAssignee);
+        return body;
+    }
+
+    // in key order, so two transactions moving issues between the same counters cannot deadlock
+    private void apply(SortedMap<IssueStatusCount.Key, Long> deltas) {
+        Instant now = Instant.now();
+        for (Map.Entry<IssueStatusCount.Key, Long> e : deltas.entrySet()) {
+            ensure(e.getKey());
+            if (repository.add(e.getKey(), e.getValue(), now) == 0) {
+                existing.remove(e.getKey()); // deleted behind our back; recreated on the next attempt
+                throw new IllegalStateException("Issue counter " + e.getKey() + " is missing");
+            }
+        }
+    }
+}
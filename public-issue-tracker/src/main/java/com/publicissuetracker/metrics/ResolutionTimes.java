@@ -0,0 +1,237 @@
+package com.publicissuetracker.metrics;
+
+import com.publicissuetracker.archive.EventArchiveCodec;
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.ResolutionTimeHistogram;
+import com.publicissuetracker.repository.ResolutionTimeHistogramRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time-to-resolve and time-to-verify percentiles per category, from one LogHistogram per
+ * (RESOLVED | VERIFIED, day, category) in resolution_time_histograms.
+ *
+ * Every status change to RESOLVED or VERIFIED adds the seconds since the issue was created to the
+ * histogram of that day, in the transaction that makes the change. A percentile query merges the
+ * rows of the requested days instead of touching issues. rebuild() recomputes every histogram
+ * from the STATUS_CHANGE events (hot and archived).
+ */
+@Component
+public class ResolutionTimes {
+
+    private static final Logger log = LoggerFactory.getLogger(ResolutionTimes.class);
+
+    public static final Set<String> KINDS = Set.of("RESOLVED", "VERIFIED");
+    static final double[] DEFAULT_PERCENTILES = {50, 90, 95, 99};
+    static final int DEFAULT_DAYS = 30;
+    static final int MAX_DAYS = 3660;
+    // Connector/J: stream the result set instead of reading it all into memory
+    private static final int STREAM_ROWS = Integer.MIN_VALUE;
+
+    private static final String EVENT_QUERY = "SELECT i.category, i.createdAt, e.toStatus, e.createdAt " +
+            "FROM IssueEvent e JOIN Issue i ON i.id = e.issueId " +
+            "WHERE e.type = 'STATUS_CHANGE' AND UPPER(e.toStatus) IN ('RESOLVED', 'VERIFIED')";
+    private static final String ARCHIVE_QUERY = "SELECT a.issueId, a.data, i.category, i.createdAt " +
+            "FROM IssueEventArchive a JOIN Issue i ON i.id = a.issueId";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ResolutionTimeHistogramRepository repository;
+    private final TransactionTemplate newTx;
+
+    // histogram rows known to exist
+    private final Set<ResolutionTimeHistogram.Key> existing = ConcurrentHashMap.newKeySet();
+
+    public ResolutionTimes(ResolutionTimeHistogramRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Record that issue reached status at the given time (other statuses are ignored); part of
+     * the transaction that changes it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Issue issue, String status, Instant at) {
+        ResolutionTimeHistogram.Key key = key(status, issue.getCategory(), at);
+        if (key == null) return;
+        ensure(key);
+        ResolutionTimeHistogram row = repository.findForUpdate(key)
+                .orElseThrow(() -> new IllegalStateException("Resolution histogram " + key + " is missing"));
+        LogHistogram h = LogHistogram.decode(row.getData());
+        h.record(seconds(issue.getCreatedAt(), at));
+        row.setData(h.encode());
+        row.setValueCount(h.getTotalCount());
+        row.setUpdatedAt(Instant.now());
+    }
+
+    /**
+     * Percentiles (in seconds) of the time from creation to kind, for the issues that reached it on
+     * the days in [from, to]: over all categories ("all") and per category ("byCategory").
+     *
+     * @throws IllegalArgumentException for an unknown kind, a reversed or too long range, or
+     *                                  percentiles outside (0, 100]
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> percentiles(String kind, LocalDate from, LocalDate to, String category, double[] percentiles) {
+        String k = kind == null || kind.isBlank() ? "RESOLVED" : kind.toUpperCase(Locale.ROOT);
+        if (!KINDS.contains(k)) throw new IllegalArgumentException("kind must be RESOLVED or VERIFIED");
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) throw new IllegalArgumentException("from must not be after to");
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new IllegalArgumentException("date range must not exceed " + MAX_DAYS + " days");
+        }
+        double[] ps = percentiles == null || percentiles.length == 0 ? DEFAULT_PERCENTILES : percentiles;
+        for (double p : ps) {
+            if (!(p > 0 && p <= 100)) throw new IllegalArgumentException("percentiles must be in (0, 100]");
+        }
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+
+        LogHistogram all = new LogHistogram();
+        Map<String, LogHistogram> byCategory = new TreeMap<>();
+        for (ResolutionTimeHistogram row : repository.findRange(k, start, end, categoryFilter)) {
+            LogHistogram h = LogHistogram.decode(row.getData());
+            all.add(h);
+            byCategory.computeIfAbsent(row.getKey().getCategory(), c -> new LogHistogram()).add(h);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("kind", k);
+        body.put("from", start.toString());
+        body.put("to", end.toString());
+        body.put("unit", "seconds");
+        body.put("all", summary(all, ps));
+        Map<String, Object> categories = new LinkedHashMap<>();
+        byCategory.forEach((c, h) -> categories.put(c, summary(h, ps)));
+        body.put("byCategory", categories);
+        return body;
+    }
+
+    /**
+     * Recompute every histogram from the STATUS_CHANGE events, archived months included, and
+     * replace the stored ones. A resolution committed while this runs may be lost; run it when
+     * the histograms are known to be off (or after a restore), not routinely.
+     *
+     * @return the number of resolutions counted
+     */
+    @Transactional
+    public long rebuild() {
+        long start = System.currentTimeMillis();
+        Map<ResolutionTimeHistogram.Key, LogHistogram> histograms = new HashMap<>();
+        long values = 0;
+        Session session = em.unwrap(Session.class);
+
+        try (ScrollableResults<Object[]> scroll = session.createSelectionQuery(EVENT_QUERY, Object[].class)
+                .setFetchSize(STREAM_ROWS)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (scroll.next()) {
+                Object[] r = scroll.get();
+                values += add(histograms, (String) r[0], (Instant) r[1], (String) r[2], (Instant) r[3]);
+            }
+        }
+        try (ScrollableResults<Object[]> scroll = session.createSelectionQuery(ARCHIVE_QUERY, Object[].class)
+                .setFetchSize(STREAM_ROWS)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (scroll.next()) {
+                Object[] r = scroll.get();
+                for (IssueEvent e : EventArchiveCodec.decode((String) r[0], (byte[]) r[1])) {
+                    if (!"STATUS_CHANGE".equals(e.getType())) continue;
+                    values += add(histograms, (String) r[2], (Instant) r[3], e.getToStatus(), e.getCreatedAt());
+                }
+            }
+        }
+
+        repository.deleteAllInBatch();
+        existing.clear();
+        Instant now = Instant.now();
+        for (Map.Entry<ResolutionTimeHistogram.Key, LogHistogram> e : histograms.entrySet()) {
+            ResolutionTimeHistogram row = new ResolutionTimeHistogram(e.getKey());
+            row.setData(e.getValue().encode());
+            row.setValueCount(e.getValue().getTotalCount());
+            row.setUpdatedAt(now);
+            em.persist(row);
+        }
+        log.info("Rebuilt {} resolution histogram(s) from {} resolution(s) in {} ms",
+                histograms.size(), values, System.currentTimeMillis() - start);
+        return values;
+    }
+
+    // creates the empty row in its own transaction, so findForUpdate never locks a gap
+    private void ensure(ResolutionTimeHistogram.Key key) {
+        if (existing.contains(key)) return;
+        try {
+            newTx.executeWithoutResult(s -> {
+                if (!repository.existsById(key)) {
+                    repository.insertEmpty(key.getKind(), key.getDay(), key.getCategory(),
+                            new LogHistogram().encode(), Instant.now());
+                }
+            });
+        } catch (DataIntegrityViolationException raced) {
+            // created by a concurrent transaction in the meantime
+        }
+        existing.add(key);
+    }
+
+    private static int add(Map<ResolutionTimeHistogram.Key, LogHistogram> histograms,
+                           String category, Instant createdAt, String status, Instant at) {
+        ResolutionTimeHistogram.Key key = key(status, category, at);
+        if (key == null) return 0;
+        histograms.computeIfAbsent(key, x -> new LogHistogram()).record(seconds(createdAt, at));
+        return 1;
+    }
+
+    private static ResolutionTimeHistogram.Key key(String status, String category, Instant at) {
+        if (status == null) return null;
+        String kind = status.toUpperCase(Locale.ROOT);
+        if (!KINDS.contains(kind)) return null;
+        return new ResolutionTimeHistogram.Key(kind, LocalDate.ofInstant(at, ZoneOffset.UTC), category);
+    }
+
+    private static long seconds(Instant createdAt, Instant at) {
+        return Math.max(0, Duration.between(createdAt, at).getSeconds());
+    }
+
+    private static Map<String, Object> summary(LogHistogram h, double[] percentiles) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", h.getTotalCount());
+        for (double p : percentiles) {
+            m.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(),
+                    h.getTotalCount() == 0 ? null : h.valueAtPercentile(p));
+        }
+        m.put("max", h.getTotalCount() == 0 ? null : h.getMaxValue());
+        return m;
+    }
+}
@@ -1,13 +1,27 @@
 package com.publicissuetracker.model;
 
+import com.publicissuetracker.geo.GeoHash;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+        @Index(name = "idx_issues_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_issues_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_issues_category_created_at_id", columnList = "category, created_at, id"),
+        @Index(name = "idx_issues_geohash_status", columnList = "geohash, status"),
+        @Index(name = "idx_issues_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_issues_upvotes_flushed_at", columnList = "upvotes_flushed_at")
+})
+// only write changed columns, so saving a loaded Issue never clobbers counters bumped by bulk updates
+@DynamicUpdate
 public class Issue {
 
+    public static final int COMMENT_PREVIEW_LENGTH = 140;
+
     @Id
     @Column(name = "id", nullable = false, length = 36)
     private String id;
@@ -30,6 +44,9 @@ public class Issue {
     @Column(name = "longitude")
     private Double longitude;
 
+    // derived from latitude/longitude on persist/update; used for "nearby" prefix scans
+    @Column(name = "geohash", length = 12)
+    private String geohash;
 
     @Column(name = "address", length = 1024)
     private String address;
@@ -59,6 +76,28 @@ public class Issue {
     @Column(name = "upvote_count", nullable = false)
     private Integer upvoteCount = 0;
 
+    // when VoteServiceImpl last added buffered votes to upvote_count; votes newer than the latest
+    // flush are recounted at startup in case the process died with deltas still in memory
+    @Column(name = "upvotes_flushed_at")
+    private Instant upvotesFlushedAt;
+
+    // denormalized comment stats for list responses (maintained by IssueRepository.recordComment);
+    // comment_count is NULL for rows that predate the columns until CommentStatsBackfillRunner fills them
+    @Column(name = "comment_count")
+    private Integer commentCount = 0;
+
+    @Column(name = "last_comment_id", length = 36)
+    private String lastCommentId;
+
+    @Column(name = "last_comment_author_id", length = 36)
+    private String lastCommentAuthorId;
+
+    @Column(name = "last_comment_preview", length = 160)
+    private String lastCommentPreview;
+
+    @Column(name = "last_comment_at")
+    private Instant lastCommentAt;
+
     // Default constructor required by JPA
     public Issue() {
         this.id = UUID.randomUUID().toString();
@@ -87,11 +126,33 @@ public class Issue {
         if (this.id == null) this.id = UUID.randomUUID().toString();
         this.createdAt = now;
         this.updatedAt = now;
+        updateGeohash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = Instant.now();
+        updateGeohash();
+    }
+
+    /**
+     * Recompute the geohash from latitude/longitude.
+     */
+    public void updateGeohash() {
+        this.geohash = (latitude != null && longitude != null)
+                ? GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION)
+                : null;
+    }
+
+    /**
+     * Shortened comment text stored as the "latest comment" preview.
+     */
+    public static String previewOf(String message) {
+        if (message == null) return null;
+        String oneLine = message.strip().replaceAll("\\s+", " ");
+        return oneLine.length() <= COMMENT_PREVIEW_LENGTH
+                ? oneLine
+                : oneLine.substring(0, COMMENT_PREVIEW_LENGTH - 1) + "\u2026";
     }
 
     // --- Getters and Setters ---
@@ -117,6 +178,8 @@ public class Issue {
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public String getGeohash() { return geohash; }
+
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
@@ -140,4 +203,21 @@ public class Issue {
 
     public Integer getUpvoteCount() { return upvoteCount; }
     public void setUpvoteCount(Integer upvoteCount) { this.upvoteCount = upvoteCount; }
+
+    public Instant getUpvotesFlushedAt() { return upvotesFlushedAt; }
+
+    public Integer getCommentCount() { return commentCount; }
+    public void setCommentCount(Integer commentCount) { this.commentCount = commentCount; }
+
+    public String getLastCommentId() { return lastCommentId; }
+    public void setLastCommentId(String lastCommentId) { this.lastCommentId = lastCommentId; }
+
+    public String getLastCommentAuthorId() { return lastCommentAuthorId; }
+    public void setLastCommentAuthorId(String lastCommentAuthorId) { this.lastCommentAuthorId = lastCommentAuthorId; }
+
+    public String getLastCommentPreview() { return lastCommentPreview; }
+    public void setLastCommentPreview(String lastCommentPreview) { this.lastCommentPreview = lastCommentPreview; }
+
+    public Instant getLastCommentAt() { return lastCommentAt; }
+    public void setLastCommentAt(Instant lastCommentAt) { this.lastCommentAt = lastCommentAt; }
 }
@@ -5,7 +5,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "issue_comments")
+@Table(name = "issue_comments", indexes = {
+        @Index(name = "idx_issue_comments_issue_created_at", columnList = "issue_id, created_at, id")
+})
 public class IssueComment {
 
     @Id
@@ -2,10 +2,14 @@ package com.publicissuetracker.model;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
-@Table(name = "issue_events")
+@Table(name = "issue_events", indexes = {
+        @Index(name = "idx_issue_events_issue_created_at", columnList = "issue_id, created_at, id"),
+        @Index(name = "idx_issue_events_created_at", columnList = "created_at")
+})
 public class IssueEvent {
 
     @Id
@@ -36,7 +40,7 @@ public class IssueEvent {
 
     public IssueEvent() {
         this.id = UUID.randomUUID().toString();
-        this.createdAt = Instant.now();
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     // --- getters & setters ---
@@ -62,7 +66,11 @@ public class IssueEvent {
     public void setNote(String note) { this.note = note; }
 
     public Instant getCreatedAt() { return createdAt; }
-    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    // the column keeps microseconds; truncating here keeps the in-memory value (streamed live,
+    // used as a cursor) identical to the stored one
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt == null ? null : createdAt.truncatedTo(ChronoUnit.MICROS);
+    }
 }
 
 
@@ -0,0 +1,58 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * All archived IssueEvents of one issue in one calendar month (UTC), gzip-compressed into a single
+ * row (see EventArchiveCodec). IssueEventArchiver moves months out of issue_events into here once
+ * they fall out of the hot window, so issue_events and its indexes only ever hold recent months.
+ */
+@Entity
+@Table(name = "issue_event_archive",
+        uniqueConstraints = @UniqueConstraint(name = "uk_issue_event_archive_issue_month", columnNames = {"issue_id", "archive_month"}))
+public class IssueEventArchive {
+
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "issue_id", nullable = false, length = 36)
+    private String issueId;
+
+    // yyyy-MM, sorts chronologically
+    @Column(name = "archive_month", nullable = false, length = 7)
+    private String month;
+
+    @Column(name = "event_count", nullable = false)
+    private int eventCount;
+
+    @Column(name = "last_created_at", nullable = false)
+    private Instant lastCreatedAt;
+
+    @Column(name = "data", nullable = false, length = 16_777_215)
+    private byte[] data;
+
+    public IssueEventArchive() {
+        this.id = UUID.randomUUID().toString();
+    }
+
+    // --- getters & setters ---
+    public String getId() { return id; }
+
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+
+    public int getEventCount() { return eventCount; }
+    public void setEventCount(int eventCount) { this.eventCount = eventCount; }
+
+    public Instant getLastCreatedAt() { return lastCreatedAt; }
+    public void setLastCreatedAt(Instant lastCreatedAt) { this.lastCreatedAt = lastCreatedAt; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+}
@@ -0,0 +1,97 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * How many issues currently have one (status, category, assignee) combination. Kept up to date in
+ * the same transaction as every issue change (see IssueCounters), so dashboard metrics are a read
+ * of this small table instead of counts over issues.
+ */
+@Entity
+@Table(name = "issue_status_counts")
+public class IssueStatusCount {
+
+    /** assignee_id of unassigned issues (the column is part of the primary key, so never NULL) */
+    public static final String UNASSIGNED = "";
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "issue_count", nullable = false)
+    private long count;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected IssueStatusCount() {}
+
+    // --- getters & setters ---
+    public Key getKey() { return key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    @Embeddable
+    public static class Key implements Serializable, Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getStatus)
+                .thenComparing(Key::getCategory)
+                .thenComparing(Key::getAssigneeId);
+
+        @Column(name = "status", nullable = false, length = 50)
+        private String status;
+
+        @Column(name = "category", nullable = false, length = 100)
+        private String category;
+
+        @Column(name = "assignee_id", nullable = false, length = 36)
+        private String assigneeId;
+
+        protected Key() {}
+
+        public Key(String status, String category, String assigneeId) {
+            this.status = status;
+            this.category = category;
+            this.assigneeId = assigneeId == null ? UNASSIGNED : assigneeId;
+        }
+
+        public static Key of(Issue issue) {
+            return new Key(issue.getStatus(), issue.getCategory(),
+                    issue.getAssignedTo() != null ? issue.getAssignedTo().getId() : null);
+        }
+
+        public String getStatus() { return status; }
+        public String getCategory() { return category; }
+        public String getAssigneeId() { return assigneeId; }
+
+        @Override
+        public int compareTo(Key o) {
+            return ORDER.compare(this, o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return status.equals(k.status) && category.equals(k.category) && assigneeId.equals(k.assigneeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, category, assigneeId);
+        }
+
+        @Override
+        public String toString() {
+            return status + "/" + category + "/" + (UNASSIGNED.equals(assigneeId) ? "unassigned" : assigneeId);
+        }
+    }
+}
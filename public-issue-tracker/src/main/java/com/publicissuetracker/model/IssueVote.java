@@ -0,0 +1,47 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One user's upvote on one issue. The unique (issue_id, user_id) key makes voting idempotent;
+ * issues.upvote_count is a buffered total of these rows (see VoteServiceImpl).
+ */
+@Entity
+@Table(name = "issue_votes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_issue_votes_issue_user", columnNames = {"issue_id", "user_id"}),
+        indexes = @Index(name = "idx_issue_votes_created_at", columnList = "created_at"))
+public class IssueVote {
+
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+
+    @Column(name = "issue_id", nullable = false, length = 36)
+    private String issueId;
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public IssueVote() {
+        this.id = UUID.randomUUID().toString();
+        this.createdAt = Instant.now();
+    }
+
+    // --- getters & setters ---
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,46 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * How far one outbox consumer (sink) has got: every record with id <= lastId has been delivered,
+ * except the open gaps, ids passed over before their record was visible.
+ */
+@Entity
+@Table(name = "outbox_offsets")
+public class OutboxOffset {
+
+    @Id
+    @Column(name = "consumer", nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    // ids passed over as gaps that may still commit, with when: "id@epochMillis,..." (see OutboxRelay)
+    @Column(name = "open_gaps", columnDefinition = "TEXT")
+    private String openGaps;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected OutboxOffset() {}
+
+    public OutboxOffset(String consumer) {
+        this.consumer = consumer;
+        this.updatedAt = Instant.now();
+    }
+
+    // --- getters & setters ---
+    public String getConsumer() { return consumer; }
+
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+
+    public String getOpenGaps() { return openGaps; }
+    public void setOpenGaps(String openGaps) { this.openGaps = openGaps; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
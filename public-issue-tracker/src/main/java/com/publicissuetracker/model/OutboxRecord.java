@@ -0,0 +1,56 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One issue change waiting for (or already handed to) downstream consumers. Written in the same
+ * transaction as the change's IssueEvent; the auto-increment id is the delivery order and the
+ * position consumers keep in outbox_offsets.
+ */
+@Entity
+@Table(name = "outbox", indexes = @Index(name = "idx_outbox_created_at", columnList = "created_at"))
+public class OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "issue_id", nullable = false, length = 36)
+    private String issueId;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    // EventResponse JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public OutboxRecord() {
+        this.createdAt = Instant.now();
+    }
+
+    // --- getters & setters ---
+    public Long getId() { return id; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
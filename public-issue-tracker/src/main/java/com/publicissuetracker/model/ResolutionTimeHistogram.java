@@ -0,0 +1,93 @@
+package com.publicissuetracker.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Histogram (LogHistogram, encoded) of the seconds from creation to RESOLVED or VERIFIED of the
+ * issues of one category that reached that status on one day (UTC). Percentiles over any range of
+ * days come from merging the rows of those days (see ResolutionTimes).
+ */
+@Entity
+@Table(name = "resolution_time_histograms",
+        indexes = @Index(name = "idx_resolution_time_histograms_kind_day", columnList = "kind, resolved_on"))
+public class ResolutionTimeHistogram {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "value_count", nullable = false)
+    private long valueCount;
+
+    @Column(name = "data", nullable = false, length = 16_777_215)
+    private byte[] data;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected ResolutionTimeHistogram() {}
+
+    public ResolutionTimeHistogram(Key key) {
+        this.key = key;
+        this.updatedAt = Instant.now();
+    }
+
+    // --- getters & setters ---
+    public Key getKey() { return key; }
+
+    public long getValueCount() { return valueCount; }
+    public void setValueCount(long valueCount) { this.valueCount = valueCount; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        // "RESOLVED" or "VERIFIED"
+        @Column(name = "kind", nullable = false, length = 20)
+        private String kind;
+
+        @Column(name = "resolved_on", nullable = false)
+        private LocalDate day;
+
+        @Column(name = "category", nullable = false, length = 100)
+        private String category;
+
+        protected Key() {}
+
+        public Key(String kind, LocalDate day, String category) {
+            this.kind = kind;
+            this.day = day;
+            this.category = category;
+        }
+
+        public String getKind() { return kind; }
+        public LocalDate getDay() { return day; }
+        public String getCategory() { return category; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return kind.equals(k.kind) && day.equals(k.day) && category.equals(k.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, day, category);
+        }
+
+        @Override
+        public String toString() {
+            return kind + "/" + day + "/" + category;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.model.OutboxRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps delivered records in memory, for tests and local experiments. Enabled by
+ * outbox.sinks.memory.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.memory.enabled", havingValue = "true")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final LinkedBlockingQueue<OutboxRecord> delivered = new LinkedBlockingQueue<>();
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public void deliver(List<OutboxRecord> batch) {
+        delivered.addAll(batch);
+    }
+
+    /**
+     * Wait up to timeoutMillis for the next delivered record; null if none arrived.
+     */
+    public OutboxRecord poll(long timeoutMillis) throws InterruptedException {
+        return delivered.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove and return everything delivered so far.
+     */
+    public List<OutboxRecord> drain() {
+        List<OutboxRecord> out = new ArrayList<>();
+        delivered.drainTo(out);
+        return out;
+    }
+}
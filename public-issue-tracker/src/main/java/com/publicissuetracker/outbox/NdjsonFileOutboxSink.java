@@ -0,0 +1,49 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.model.OutboxRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends outbox records to a local NDJSON file (one {"offset":..,"event":..} object per line),
+ * fsynced before the batch counts as delivered. Enabled by outbox.sinks.file.path.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.file.path")
+public class NdjsonFileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    public NdjsonFileOutboxSink(@Value("${outbox.sinks.file.path}") String path) throws IOException {
+        this.path = Paths.get(path);
+        if (this.path.getParent() != null) Files.createDirectories(this.path.getParent());
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(List<OutboxRecord> batch) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (OutboxRecord r : batch) sb.append(OutboxSink.toJson(r)).append('\n');
+        ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) ch.write(bytes);
+            ch.force(false);
+        }
+    }
+}
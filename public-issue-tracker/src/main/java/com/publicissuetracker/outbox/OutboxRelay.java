@@ -0,0 +1,199 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.datasource.ReplicaRoutingDataSource;
+import com.publicissuetracker.model.OutboxOffset;
+import com.publicissuetracker.model.OutboxRecord;
+import com.publicissuetracker.repository.OutboxOffsetRepository;
+import com.publicissuetracker.repository.OutboxRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves outbox records to every OutboxSink, in id order, batchSize records at a time.
+ *
+ * Each sink has its own offset in outbox_offsets, saved after the sink accepted a batch, so a
+ * failing sink only holds itself back and a crash in between resends the batch (at-least-once).
+ *
+ * Ids are drawn at insert, not at commit, so a record can become visible after one with a higher
+ * id. The relay therefore stops in front of a gap in the ids until the record after it is
+ * gapWaitMillis old, then passes over it: usually the gap belongs to a rolled-back transaction
+ * (or a skipped auto-increment value). The passed-over ids are kept with the offset as open gaps
+ * and looked up again on every run for gapRetainMillis, so a transaction that was just slow to
+ * commit is still delivered, late and out of id order. Keep gapRetainMillis above the longest
+ * possible write transaction and well below retentionHours.
+ *
+ * Every read runs on the primary (the repositories' read-only calls would otherwise go to a
+ * replica): a lagging replica would hand back an offset older than the one just saved, so the
+ * relay would resend batches and overwrite the open gaps with a stale list.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    // open gaps kept per sink; beyond that the oldest are given up (and logged)
+    private static final int MAX_OPEN_GAPS = 1000;
+
+    private final OutboxRecordRepository recordRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final ObjectProvider<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration gapWait;
+    private final Duration gapRetain;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxRecordRepository recordRepository,
+                       OutboxOffsetRepository offsetRepository,
+                       ObjectProvider<OutboxSink> sinks,
+                       @Value("${outbox.batchSize:500}") int batchSize,
+                       @Value("${outbox.gapWaitMillis:5000}") long gapWaitMillis,
+                       @Value("${outbox.gapRetainMillis:3600000}") long gapRetainMillis,
+                       @Value("${outbox.retentionHours:168}") long retentionHours) {
+        this.recordRepository = recordRepository;
+        this.offsetRepository = offsetRepository;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.gapWait = Duration.ofMillis(gapWaitMillis);
+        this.gapRetain = Duration.ofMillis(gapRetainMillis);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relayMillis:1000}")
+    public void relay() {
+        ReplicaRoutingDataSource.onPrimary(() -> sinks.orderedStream().forEach(this::relay));
+    }
+
+    /**
+     * Delete records that every sink has delivered and that are older than the retention period
+     * (without sinks, just the old ones).
+     */
+    @Scheduled(fixedDelayString = "${outbox.purgeMillis:3600000}")
+    public void purge() {
+        ReplicaRoutingDataSource.onPrimary(this::purgeDelivered);
+    }
+
+    private void purgeDelivered() {
+        long upTo = sinks.orderedStream()
+                .mapToLong(sink -> offsetRepository.findById(sink.name()).map(OutboxOffset::getLastId).orElse(0L))
+                .min()
+                .orElse(Long.MAX_VALUE);
+        int deleted = recordRepository.deleteDelivered(upTo, Instant.now().minus(retention));
+        if (deleted > 0) log.info("Purged {} delivered outbox record(s)", deleted);
+    }
+
+    private void relay(OutboxSink sink) {
+        OutboxOffset offset = offsetRepository.findById(sink.name()).orElseGet(() -> new OutboxOffset(sink.name()));
+        TreeMap<Long, Long> openGaps = parseGaps(offset.getOpenGaps());
+        int wasOpen = openGaps.size();
+        if (!deliverLate(sink, openGaps)) return;
+        expireGaps(openGaps, Instant.now());
+        boolean gapsChanged = openGaps.size() != wasOpen;
+        while (true) {
+            List<OutboxRecord> fetched = recordRepository.findAfter(offset.getLastId(), PageRequest.of(0, batchSize));
+            Instant now = Instant.now();
+            List<OutboxRecord> batch = deliverable(fetched, offset.getLastId(), now);
+            if (batch.isEmpty()) break;
+            try {
+                sink.deliver(batch);
+            } catch (Exception e) {
+                log.warn("Outbox sink {} failed at offset {}, retrying later: {}",
+                        sink.name(), offset.getLastId(), e.getMessage());
+                break;
+            }
+            addGaps(openGaps, batch, offset.getLastId(), now.toEpochMilli(), sink.name());
+            offset.setLastId(batch.get(batch.size() - 1).getId());
+            offset.setOpenGaps(formatGaps(openGaps));
+            offset.setUpdatedAt(now);
+            offset = offsetRepository.save(offset);
+            gapsChanged = false;
+            if (batch.size() < fetched.size() || fetched.size() < batchSize) break;
+        }
+        if (gapsChanged) {
+            offset.setOpenGaps(formatGaps(openGaps));
+            offset.setUpdatedAt(Instant.now());
+            offsetRepository.save(offset);
+        }
+    }
+
+    // records that committed after their id was passed over; false if the sink failed on them
+    private boolean deliverLate(OutboxSink sink, TreeMap<Long, Long> openGaps) {
+        if (openGaps.isEmpty()) return true;
+        List<OutboxRecord> late = new ArrayList<>(recordRepository.findAllById(openGaps.keySet()));
+        if (late.isEmpty()) return true;
+        late.sort(Comparator.comparing(OutboxRecord::getId));
+        try {
+            sink.deliver(late);
+        } catch (Exception e) {
+            log.warn("Outbox sink {} failed on {} late record(s), retrying later: {}",
+                    sink.name(), late.size(), e.getMessage());
+            return false;
+        }
+        late.forEach(r -> openGaps.remove(r.getId()));
+        return true;
+    }
+
+    // the records up to the first gap in the ids that may still be filled by an open transaction
+    List<OutboxRecord> deliverable(List<OutboxRecord> fetched, long afterId, Instant now) {
+        Instant settled = now.minus(gapWait);
+        long expected = afterId + 1;
+        for (int i = 0; i < fetched.size(); i++) {
+            OutboxRecord r = fetched.get(i);
+            if (r.getId() != expected && r.getCreatedAt().isAfter(settled)) {
+                return fetched.subList(0, i);
+            }
+            expected = r.getId() + 1;
+        }
+        return fetched;
+    }
+
+    // remember the ids a delivered batch passed over
+    void addGaps(TreeMap<Long, Long> openGaps, List<OutboxRecord> batch, long afterId, long nowMillis, String sink) {
+        long expected = afterId + 1;
+        for (OutboxRecord r : batch) {
+            for (long id = expected; id < r.getId() && id < expected + MAX_OPEN_GAPS; id++) openGaps.put(id, nowMillis);
+            expected = r.getId() + 1;
+        }
+        if (openGaps.size() > MAX_OPEN_GAPS) {
+            log.warn("Outbox sink {} has more than {} open gaps, giving up the oldest", sink, MAX_OPEN_GAPS);
+            while (openGaps.size() > MAX_OPEN_GAPS) openGaps.pollFirstEntry();
+        }
+    }
+
+    // drop gaps passed over more than gapRetain ago: no transaction is still open to fill them
+    void expireGaps(TreeMap<Long, Long> openGaps, Instant now) {
+        long expired = now.minus(gapRetain).toEpochMilli();
+        openGaps.values().removeIf(at -> at < expired);
+    }
+
+    private static TreeMap<Long, Long> parseGaps(String s) {
+        TreeMap<Long, Long> gaps = new TreeMap<>();
+        if (s == null || s.isBlank()) return gaps;
+        for (String entry : s.split(",")) {
+            int at = entry.indexOf('@');
+            gaps.put(Long.parseLong(entry.substring(0, at)), Long.parseLong(entry.substring(at + 1)));
+        }
+        return gaps;
+    }
+
+    private static String formatGaps(TreeMap<Long, Long> gaps) {
+        if (gaps.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Long, Long> e : gaps.entrySet()) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(e.getKey()).append('@').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.model.OutboxRecord;
+
+import java.util.List;
+
+/**
+ * A downstream consumer of the outbox. Every sink bean gets all records, in id order, with its
+ * own offset; delivery is at-least-once (a batch is resent if the offset could not be saved after
+ * deliver() returned), so consumers should de-duplicate on the event id. A record whose
+ * transaction committed after the relay passed over its id arrives late, out of id order.
+ */
+public interface OutboxSink {
+
+    /**
+     * Stable consumer name, the key of this sink's offset in outbox_offsets.
+     */
+    String name();
+
+    /**
+     * Deliver a batch. Return only once the batch is durably accepted; throw to have it retried
+     * on the next relay run.
+     */
+    void deliver(List<OutboxRecord> batch) throws Exception;
+
+    /**
+     * The wire form shared by the built-in sinks: {"offset":id,"event":EventResponse}.
+     */
+    static String toJson(OutboxRecord record) {
+        return "{\"offset\":" + record.getId() + ",\"event\":" + record.getPayload() + "}";
+    }
+}
@@ -0,0 +1,62 @@
+package com.publicissuetracker.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicissuetracker.dto.EventResponse;
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.OutboxRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the outbox record of an issue change inside the transaction that makes the change, so
+ * the record exists if and only if the change committed.
+ *
+ * Call it after the change's own writes (issue row update, IssueEvent). The pending changes are
+ * flushed first, so the transaction already holds the issue row's lock when the outbox id is
+ * drawn: two transactions on the same issue then get ids in their commit order, which is the
+ * per-issue order the relay delivers in.
+ */
+@Component
+public class OutboxWriter {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ObjectMapper mapper;
+
+    public OutboxWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(IssueEvent event) {
+        OutboxRecord record = new OutboxRecord();
+        record.setEventId(event.getId());
+        record.setIssueId(event.getIssueId());
+        record.setType(event.getType());
+        record.setPayload(toJson(event));
+        em.flush();
+        em.persist(record); // IDENTITY: inserted right away
+    }
+
+    private String toJson(IssueEvent e) {
+        EventResponse er = new EventResponse();
+        er.id = e.getId();
+        er.issueId = e.getIssueId();
+        er.type = e.getType();
+        er.actorId = e.getActorId();
+        er.fromStatus = e.getFromStatus();
+        er.toStatus = e.getToStatus();
+        er.note = e.getNote();
+        er.createdAt = e.getCreatedAt();
+        try {
+            return mapper.writeValueAsString(er);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize issue event " + e.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.model.OutboxRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * POSTs each batch as a JSON array of {"offset":..,"event":..} objects; any 2xx response means
+ * delivered, anything else (or no response within timeoutMillis) is retried. Enabled by
+ * outbox.sinks.webhook.url.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.webhook.url")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public WebhookOutboxSink(@Value("${outbox.sinks.webhook.url}") String url,
+                             @Value("${outbox.sinks.webhook.timeoutMillis:5000}") long timeoutMillis) {
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxRecord> batch) throws IOException, InterruptedException {
+        String body = batch.stream().map(OutboxSink::toJson).collect(Collectors.joining(",", "[", "]"));
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook returned " + response.statusCode());
+        }
+    }
+}
@@ -1,10 +1,72 @@
 package com.publicissuetracker.repository;
 
 import com.publicissuetracker.model.IssueComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface IssueCommentRepository extends JpaRepository<IssueComment, String> {
-    List<IssueComment> findByIssueIdOrderByCreatedAtAsc(String issueId);
+
+    /**
+     * Newest comments of an issue first; one backwards range scan of idx_issue_comments_issue_created_at.
+     */
+    @Query("SELECT c FROM IssueComment c WHERE c.issueId = :issueId ORDER BY c.createdAt DESC, c.id DESC")
+    List<IssueComment> findNewestByIssue(@Param("issueId") String issueId, Pageable pageable);
+
+    /**
+     * Comments of an issue older than (createdAt, id), newest first.
+     */
+    @Query("SELECT c FROM IssueComment c WHERE c.issueId = :issueId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<IssueComment> findByIssueBefore(@Param("issueId") String issueId,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("id") String id,
+                                         Pageable pageable);
+
+    /**
+     * Comments of an issue newer than (createdAt, id), oldest first.
+     */
+    @Query("SELECT c FROM IssueComment c WHERE c.issueId = :issueId " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<IssueComment> findByIssueAfter(@Param("issueId") String issueId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") String id,
+                                        Pageable pageable);
+
+    /**
+     * Comments of many issues in one IN query (bulk comments endpoint), oldest first.
+     */
+    List<IssueComment> findByIssueIdInOrderByCreatedAtAsc(Collection<String> issueIds);
+
+    /**
+     * [issueId, count] rows for the given issues (issues without comments are absent).
+     */
+    @Query("SELECT c.issueId, COUNT(c) FROM IssueComment c WHERE c.issueId IN :issueIds GROUP BY c.issueId")
+    List<Object[]> countByIssueIds(@Param("issueIds") Collection<String> issueIds);
+
+    /**
+     * The newest comment of each given issue (ties on created_at may return more than one).
+     */
+    @Query("SELECT c FROM IssueComment c WHERE c.issueId IN :issueIds AND c.createdAt = " +
+            "(SELECT MAX(c2.createdAt) FROM IssueComment c2 WHERE c2.issueId = c.issueId)")
+    List<IssueComment> findLatestByIssueIds(@Param("issueIds") Collection<String> issueIds);
+
+    /**
+     * Comments in (createdAt, id) order, starting at createdAt >= since (ties after afterId).
+     * Used to build and catch up the search index in batches.
+     */
+    @Query("SELECT c FROM IssueComment c " +
+            "WHERE c.createdAt > :since OR (c.createdAt = :since AND c.id > :afterId) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<IssueComment> findCreatedSince(@Param("since") Instant since,
+                                        @Param("afterId") String afterId,
+                                        Pageable pageable);
 }
 
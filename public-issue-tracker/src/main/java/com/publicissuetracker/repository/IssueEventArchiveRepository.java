@@ -0,0 +1,22 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.IssueEventArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IssueEventArchiveRepository extends JpaRepository<IssueEventArchive, String> {
+
+    // month-by-month walks over one issue's archive (uk_issue_event_archive_issue_month)
+    Optional<IssueEventArchive> findFirstByIssueIdAndMonthLessThanEqualOrderByMonthDesc(String issueId, String month);
+
+    Optional<IssueEventArchive> findFirstByIssueIdAndMonthLessThanOrderByMonthDesc(String issueId, String month);
+
+    Optional<IssueEventArchive> findFirstByIssueIdAndMonthGreaterThanEqualOrderByMonthAsc(String issueId, String month);
+
+    Optional<IssueEventArchive> findFirstByIssueIdAndMonthGreaterThanOrderByMonthAsc(String issueId, String month);
+
+    List<IssueEventArchive> findByMonthAndIssueIdIn(String month, Collection<String> issueIds);
+}
@@ -1,10 +1,131 @@
 package com.publicissuetracker.repository;
 
 import com.publicissuetracker.model.IssueEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IssueEventRepository extends JpaRepository<IssueEvent, String> {
-    List<IssueEvent> findByIssueIdOrderByCreatedAtAsc(String issueId);
-}
 
+    /**
+     * Newest events of an issue first; one backwards range scan of idx_issue_events_issue_created_at.
+     * Events of type excludeType are skipped (null = keep all).
+     */
+    @Query("SELECT e FROM IssueEvent e WHERE e.issueId = :issueId " +
+            "AND (:excludeType IS NULL OR e.type <> :excludeType) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<IssueEvent> findNewestByIssue(@Param("issueId") String issueId,
+                                       @Param("excludeType") String excludeType,
+                                       Pageable pageable);
+
+    /**
+     * Events of an issue older than (createdAt, id), newest first.
+     */
+    @Query("SELECT e FROM IssueEvent e WHERE e.issueId = :issueId " +
+            "AND (:excludeType IS NULL OR e.type <> :excludeType) " +
+            "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<IssueEvent> findByIssueBefore(@Param("issueId") String issueId,
+                                       @Param("excludeType") String excludeType,
+                                       @Param("createdAt") Instant createdAt,
+                                       @Param("id") String id,
+                                       Pageable pageable);
+
+    /**
+     * Events of an issue newer than (createdAt, id), oldest first.
+     */
+    @Query("SELECT e FROM IssueEvent e WHERE e.issueId = :issueId " +
+            "AND (:excludeType IS NULL OR e.type <> :excludeType) " +
+            "AND (e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :id)) " +
+            "ORDER BY e.createdAt ASC, e.id ASC")
+    List<IssueEvent> findByIssueAfter(@Param("issueId") String issueId,
+                                      @Param("excludeType") String excludeType,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") String id,
+                                      Pageable pageable);
+
+    /**
+     * Events of the given types in [since, until), oldest first, keyset-paged on (createdAt, id).
+     * Rows are [id, issueId, type, createdAt].
+     */
+    @Query("SELECT e.id, e.issueId, e.type, e.createdAt FROM IssueEvent e " +
+            "WHERE e.type IN :types AND e.createdAt < :until " +
+            "AND (e.createdAt > :afterTs OR (e.createdAt = :afterTs AND e.id > :afterId)) " +
+            "ORDER BY e.createdAt ASC, e.id ASC")
+    List<Object[]> findTypedAfter(@Param("types") Collection<String> types,
+                                  @Param("afterTs") Instant afterTs,
+                                  @Param("afterId") String afterId,
+                                  @Param("until") Instant until,
+                                  Pageable pageable);
+
+    /**
+     * Walk the events of the given types in [since, until), batchSize rows per query.
+     */
+    default void forEachTyped(Collection<String> types, Instant since, Instant until, int batchSize,
+                              Consumer<Object[]> action) {
+        Instant afterTs = since;
+        String afterId = "";
+        while (true) {
+            List<Object[]> batch = findTypedAfter(types, afterTs, afterId, until, PageRequest.of(0, batchSize));
+            batch.forEach(action);
+            if (batch.size() < batchSize) return;
+            Object[] last = batch.get(batch.size() - 1);
+            afterId = (String) last[0];
+            afterTs = (Instant) last[3];
+        }
+    }
+
+    /**
+     * Events after (createdAt, id) in write order, optionally narrowed to one issue and/or to issues
+     * currently reported by / assigned to a user (null = any). Replays missed changes to a
+     * reconnecting /issues/stream client.
+     */
+    @Query("SELECT e FROM IssueEvent e, Issue i WHERE i.id = e.issueId " +
+            "AND (:issueId IS NULL OR e.issueId = :issueId) " +
+            "AND (:reporterId IS NULL OR i.createdBy.id = :reporterId) " +
+            "AND (:assigneeId IS NULL OR i.assignedTo.id = :assigneeId) " +
+            "AND (e.createdAt > :afterTs OR (e.createdAt = :afterTs AND e.id > :afterId)) " +
+            "ORDER BY e.createdAt ASC, e.id ASC")
+    List<IssueEvent> findStreamAfter(@Param("issueId") String issueId,
+                                     @Param("reporterId") String reporterId,
+                                     @Param("assigneeId") String assigneeId,
+                                     @Param("afterTs") Instant afterTs,
+                                     @Param("afterId") String afterId,
+                                     Pageable pageable);
+
+    /**
+     * created_at of the oldest event still in issue_events (null if empty); one index probe.
+     */
+    @Query("SELECT MIN(e.createdAt) FROM IssueEvent e")
+    Instant findOldestCreatedAt();
+
+    /**
+     * Issues with events in [from, to), by id after afterIssueId (the archiver's batches).
+     */
+    @Query("SELECT DISTINCT e.issueId FROM IssueEvent e " +
+            "WHERE e.createdAt >= :from AND e.createdAt < :to AND e.issueId > :afterIssueId " +
+            "ORDER BY e.issueId")
+    List<String> findIssueIdsBetween(@Param("from") Instant from,
+                                     @Param("to") Instant to,
+                                     @Param("afterIssueId") String afterIssueId,
+                                     Pageable pageable);
+
+    @Query("SELECT e FROM IssueEvent e WHERE e.issueId IN :issueIds AND e.createdAt >= :from AND e.createdAt < :to")
+    List<IssueEvent> findByIssuesBetween(@Param("issueIds") Collection<String> issueIds,
+                                         @Param("from") Instant from,
+                                         @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM IssueEvent e WHERE e.issueId IN :issueIds AND e.createdAt >= :from AND e.createdAt < :to")
+    int deleteByIssuesBetween(@Param("issueIds") Collection<String> issueIds,
+                              @Param("from") Instant from,
+                              @Param("to") Instant to);
+}
@@ -0,0 +1,16 @@
+package com.publicissuetracker.repository;
+
+import java.time.Instant;
+
+/**
+ * Interface projection with just the columns the in-memory map indexes need.
+ * Used to (re)build them at startup without hydrating Issue entities.
+ */
+public interface IssueLocationView {
+    String getId();
+    Double getLatitude();
+    Double getLongitude();
+    String getStatus();
+    String getCategory();
+    Instant getCreatedAt();
+}
@@ -2,14 +2,48 @@ package com.publicissuetracker.repository;
 
 import com.publicissuetracker.model.Issue;
 import com.publicissuetracker.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IssueRepository extends JpaRepository<Issue, String> {
 
+    /**
+     * Load an issue with a row lock (SELECT ... FOR UPDATE), for changes whose side effects depend
+     * on its current state (issue counters, resolution times): concurrent changes of the same issue
+     * run one after the other, each seeing the previous one's result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Issue i WHERE i.id = :id")
+    Optional<Issue> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * SELECT ... FROM for IssueView queries: issue columns plus reporter / assignee / latest commenter
+     * names, joined in the same statement so mapping a list never touches the lazy User associations.
+     */
+    String VIEW_SELECT = "SELECT i.id AS id, i.title AS title, i.description AS description, " +
+            "i.category AS category, i.status AS status, i.latitude AS latitude, i.longitude AS longitude, " +
+            "i.address AS address, cb.id AS createdById, cb.name AS createdByName, " +
+            "a.id AS assignedToId, a.name AS assignedToName, i.createdAt AS createdAt, " +
+            "i.updatedAt AS updatedAt, i.resolvedAt AS resolvedAt, i.verifiedAt AS verifiedAt, " +
+            "i.upvoteCount AS upvoteCount, i.commentCount AS commentCount, " +
+            "i.lastCommentId AS lastCommentId, i.lastCommentAuthorId AS lastCommentAuthorId, " +
+            "lc.name AS lastCommentAuthorName, i.lastCommentPreview AS lastCommentPreview, " +
+            "i.lastCommentAt AS lastCommentAt " +
+            "FROM Issue i LEFT JOIN i.createdBy cb LEFT JOIN i.assignedTo a " +
+            "LEFT JOIN User lc ON lc.id = i.lastCommentAuthorId ";
+
     // find all issues created by a specific user
     List<Issue> findByCreatedBy(User createdBy);
 
@@ -21,15 +55,195 @@ public interface IssueRepository extends JpaRepository<Issue, String> {
 
     long countByStatus(String status);
 
+    /**
+     * [status, category, assigneeId (null = unassigned), count] over all issues; a full scan, only
+     * used to reconcile issue_status_counts.
+     */
+    @Query("SELECT i.status, i.category, a.id, COUNT(i) FROM Issue i LEFT JOIN i.assignedTo a " +
+            "GROUP BY i.status, i.category, a.id")
+    List<Object[]> countByStatusCategoryAssignee();
+
+    /**
+     * updatedAt of one issue (primary-key lookup); the version used for conditional GETs of the
+     * issue, its comments and its events, which all bump it.
+     */
+    @Query("SELECT i.updatedAt FROM Issue i WHERE i.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") String id);
+
+    /**
+     * Newest updatedAt over all issues (one read of idx_issues_updated_at); the version of the list.
+     */
+    @Query("SELECT MAX(i.updatedAt) FROM Issue i")
+    Instant findMaxUpdatedAt();
+
+    @Query("SELECT i.upvoteCount FROM Issue i WHERE i.id = :id")
+    Optional<Integer> findUpvoteCountById(@Param("id") String id);
+
+    /**
+     * Time of the most recent upvote flush; buffered votes can only be missing from rows voted after it.
+     */
+    @Query("SELECT MAX(i.upvotesFlushedAt) FROM Issue i")
+    Instant findMaxUpvotesFlushedAt();
+
+    /**
+     * Set upvoteCount from the issue_votes rows (crash recovery). Bumps updatedAt since the
+     * count can change.
+     */
+    @Modifying
+    @Query("UPDATE Issue i SET i.upvoteCount = (SELECT COUNT(v) FROM IssueVote v WHERE v.issueId = i.id), " +
+            "i.upvotesFlushedAt = :at, i.updatedAt = :at WHERE i.id IN :ids")
+    int recountUpvotes(@Param("ids") Collection<String> ids, @Param("at") Instant at);
+
     /**
      * Return issues for a reporter (most recent first).
      * Using an explicit JPQL query because the Issue entity's field is 'createdBy' (User).
      * We query by createdBy.id to match the reporterId parameter.
      */
-    @Query("SELECT i FROM Issue i WHERE i.createdBy.id = :reporterId ORDER BY i.createdAt DESC")
-    List<Issue> findByReporterIdOrderByCreatedAtDesc(@Param("reporterId") String reporterId);
+    @Query(VIEW_SELECT + "WHERE cb.id = :reporterId ORDER BY i.createdAt DESC")
+    List<IssueView> findByReporterIdOrderByCreatedAtDesc(@Param("reporterId") String reporterId);
 
-    // later we can add filters like category, location, etc.
-}
+    /**
+     * First page of the keyset-paginated listing (newest first).
+     * status / category are optional filters (pass null to ignore).
+     * Pass PageRequest.of(0, n) as pageable - only the limit is used, never an offset.
+     */
+    @Query(VIEW_SELECT +
+            "WHERE (:status IS NULL OR i.status = :status) " +
+            "AND (:category IS NULL OR i.category = :category) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueView> findPage(@Param("status") String status,
+                         @Param("category") String category,
+                         Pageable pageable);
 
+    /**
+     * Next page of the keyset-paginated listing: rows strictly after (createdAt, id)
+     * in (createdAt DESC, id DESC) order. Served by the (…, created_at, id) indexes on issues.
+     */
+    @Query(VIEW_SELECT +
+            "WHERE (:status IS NULL OR i.status = :status) " +
+            "AND (:category IS NULL OR i.category = :category) " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueView> findPageAfter(@Param("status") String status,
+                              @Param("category") String category,
+                              @Param("createdAt") Instant createdAt,
+                              @Param("id") String id,
+                              Pageable pageable);
 
+    /**
+     * IssueView rows for a set of ids (unordered), e.g. to hydrate search or nearby hits.
+     */
+    @Query(VIEW_SELECT + "WHERE i.id IN :ids")
+    List<IssueView> findViewsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Batch of located issues after the given id (id order), as a lightweight projection.
+     * Used to rebuild the in-memory map indexes at startup without loading whole entities.
+     */
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, " +
+            "i.status AS status, i.category AS category, i.createdAt AS createdAt " +
+            "FROM Issue i " +
+            "WHERE i.latitude IS NOT NULL AND i.longitude IS NOT NULL AND i.id > :afterId " +
+            "ORDER BY i.id ASC")
+    List<IssueLocationView> findLocationsAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    /**
+     * Walk every located issue in id order, batchSize rows per query.
+     */
+    default void forEachLocated(int batchSize, Consumer<IssueLocationView> action) {
+        String afterId = "";
+        while (true) {
+            List<IssueLocationView> batch = findLocationsAfter(afterId, PageRequest.of(0, batchSize));
+            batch.forEach(action);
+            if (batch.size() < batchSize) return;
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Nearby prefilter: located issues whose geohash matches a cell prefix pattern ("abc%"),
+     * a range scan on idx_issues_geohash_status. Only the projection columns are fetched for ranking.
+     */
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, " +
+            "i.status AS status, i.category AS category, i.createdAt AS createdAt " +
+            "FROM Issue i " +
+            "WHERE i.geohash LIKE :prefixPattern " +
+            "AND (:status IS NULL OR i.status = :status)")
+    List<IssueLocationView> findLocationsByGeohashPrefix(@Param("prefixPattern") String prefixPattern,
+                                                         @Param("status") String status,
+                                                         Pageable pageable);
+
+    /**
+     * Located issues still missing a geohash (rows written before the column existed).
+     */
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, " +
+            "i.status AS status, i.category AS category, i.createdAt AS createdAt " +
+            "FROM Issue i WHERE i.geohash IS NULL AND i.latitude IS NOT NULL AND i.longitude IS NOT NULL")
+    List<IssueLocationView> findMissingGeohash(Pageable pageable);
+
+    /**
+     * Backfill the geohash of one issue. Leaves updatedAt alone (no @PreUpdate on bulk updates).
+     */
+    @Modifying
+    @Query("UPDATE Issue i SET i.geohash = :geohash WHERE i.id = :issueId AND i.geohash IS NULL")
+    int backfillGeohash(@Param("issueId") String issueId, @Param("geohash") String geohash);
+
+    /**
+     * Issue text in (createdAt, id) order, starting at createdAt >= since (ties after afterId).
+     * Used to build and catch up the search index in batches.
+     */
+    @Query("SELECT i.id AS id, i.title AS title, i.description AS description, i.createdAt AS createdAt " +
+            "FROM Issue i " +
+            "WHERE i.createdAt > :since OR (i.createdAt = :since AND i.id > :afterId) " +
+            "ORDER BY i.createdAt ASC, i.id ASC")
+    List<IssueTextView> findTextSince(@Param("since") Instant since,
+                                      @Param("afterId") String afterId,
+                                      Pageable pageable);
+
+    /**
+     * Count a new comment and make it the latest-comment preview unless a newer one is already there.
+     * A single atomic UPDATE, so concurrent comments on the same issue don't lose increments.
+     * updatedAt only moves forward: a comment committing after a later change must not turn back
+     * Last-Modified or the list version.
+     * Rows whose comment_count is still NULL are left for CommentStatsBackfillRunner to recount.
+     * (lastCommentAt is assigned last: MySQL evaluates SET assignments left to right.)
+     */
+    @Modifying
+    @Query("UPDATE Issue i SET " +
+            "i.commentCount = CASE WHEN i.commentCount IS NULL THEN NULL ELSE i.commentCount + 1 END, " +
+            "i.lastCommentId = CASE WHEN i.lastCommentAt IS NULL OR i.lastCommentAt <= :at " +
+            "THEN :commentId ELSE i.lastCommentId END, " +
+            "i.lastCommentAuthorId = CASE WHEN i.lastCommentAt IS NULL OR i.lastCommentAt <= :at " +
+            "THEN :authorId ELSE i.lastCommentAuthorId END, " +
+            "i.lastCommentPreview = CASE WHEN i.lastCommentAt IS NULL OR i.lastCommentAt <= :at " +
+            "THEN :preview ELSE i.lastCommentPreview END, " +
+            "i.lastCommentAt = CASE WHEN i.lastCommentAt IS NULL OR i.lastCommentAt <= :at " +
+            "THEN :at ELSE i.lastCommentAt END, " +
+            "i.updatedAt = CASE WHEN i.updatedAt IS NULL OR i.updatedAt < :at THEN :at ELSE i.updatedAt END " +
+            "WHERE i.id = :issueId")
+    int recordComment(@Param("issueId") String issueId,
+                      @Param("commentId") String commentId,
+                      @Param("authorId") String authorId,
+                      @Param("preview") String preview,
+                      @Param("at") Instant at);
+
+    /**
+     * Ids of issues whose comment stats have not been computed yet (rows written before the columns existed).
+     */
+    @Query("SELECT i.id FROM Issue i WHERE i.commentCount IS NULL")
+    List<String> findMissingCommentStats(Pageable pageable);
+
+    /**
+     * Backfill the comment stats of one issue. Leaves updatedAt alone (no @PreUpdate on bulk updates).
+     */
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = :count, i.lastCommentId = :commentId, " +
+            "i.lastCommentAuthorId = :authorId, i.lastCommentPreview = :preview, i.lastCommentAt = :at " +
+            "WHERE i.id = :issueId AND i.commentCount IS NULL")
+    int backfillCommentStats(@Param("issueId") String issueId,
+                             @Param("count") int count,
+                             @Param("commentId") String commentId,
+                             @Param("authorId") String authorId,
+                             @Param("preview") String preview,
+                             @Param("at") Instant at);
+}
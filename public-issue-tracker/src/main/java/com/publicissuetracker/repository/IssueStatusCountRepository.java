@@ -0,0 +1,31 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.IssueStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IssueStatusCountRepository extends JpaRepository<IssueStatusCount, IssueStatusCount.Key> {
+
+    /**
+     * Add delta to one counter in place (the row stays locked until the transaction ends).
+     * Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE IssueStatusCount c SET c.count = c.count + :delta, c.updatedAt = :at WHERE c.key = :key")
+    int add(@Param("key") IssueStatusCount.Key key, @Param("delta") long delta, @Param("at") Instant at);
+
+    /**
+     * Plain INSERT of a zero counter; fails on the primary key if another transaction created it first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO issue_status_counts (status, category, assignee_id, issue_count, updated_at) " +
+            "VALUES (:status, :category, :assigneeId, 0, :at)", nativeQuery = true)
+    int insertZero(@Param("status") String status,
+                   @Param("category") String category,
+                   @Param("assigneeId") String assigneeId,
+                   @Param("at") Instant at);
+}
@@ -0,0 +1,13 @@
+package com.publicissuetracker.repository;
+
+import java.time.Instant;
+
+/**
+ * Interface projection with the text columns the search index needs.
+ */
+public interface IssueTextView {
+    String getId();
+    String getTitle();
+    String getDescription();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,35 @@
+package com.publicissuetracker.repository;
+
+import java.time.Instant;
+
+/**
+ * Read-only interface projection of an issue with its reporter / assignee / latest commenter names
+ * already joined.
+ * List endpoints map these straight to IssueResponse: one SQL statement per page, no managed
+ * entities and no lazy User loads.
+ */
+public interface IssueView {
+    String getId();
+    String getTitle();
+    String getDescription();
+    String getCategory();
+    String getStatus();
+    Double getLatitude();
+    Double getLongitude();
+    String getAddress();
+    String getCreatedById();
+    String getCreatedByName();
+    String getAssignedToId();
+    String getAssignedToName();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+    Instant getResolvedAt();
+    Instant getVerifiedAt();
+    Integer getUpvoteCount();
+    Integer getCommentCount();
+    String getLastCommentId();
+    String getLastCommentAuthorId();
+    String getLastCommentAuthorName();
+    String getLastCommentPreview();
+    Instant getLastCommentAt();
+}
@@ -0,0 +1,61 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.IssueVote;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IssueVoteRepository extends JpaRepository<IssueVote, String> {
+
+    /**
+     * Plain INSERT (save() would SELECT first because the id is pre-assigned). A second vote by the
+     * same user fails on uk_issue_votes_issue_user with a DataIntegrityViolationException.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO issue_votes (id, issue_id, user_id, created_at) " +
+            "VALUES (:id, :issueId, :userId, :createdAt)", nativeQuery = true)
+    int insert(@Param("id") String id,
+               @Param("issueId") String issueId,
+               @Param("userId") String userId,
+               @Param("createdAt") Instant createdAt);
+
+    @Query("SELECT DISTINCT v.issueId FROM IssueVote v WHERE v.createdAt > :since")
+    List<String> findIssueIdsVotedSince(@Param("since") Instant since);
+
+    /**
+     * Votes in [since, until), oldest first, keyset-paged on (createdAt, id). Rows are [id, issueId, createdAt].
+     */
+    @Query("SELECT v.id, v.issueId, v.createdAt FROM IssueVote v " +
+            "WHERE v.createdAt < :until " +
+            "AND (v.createdAt > :afterTs OR (v.createdAt = :afterTs AND v.id > :afterId)) " +
+            "ORDER BY v.createdAt ASC, v.id ASC")
+    List<Object[]> findVotesAfter(@Param("afterTs") Instant afterTs,
+                                  @Param("afterId") String afterId,
+                                  @Param("until") Instant until,
+                                  Pageable pageable);
+
+    /**
+     * Walk the votes cast in [since, until), batchSize rows per query.
+     */
+    default void forEachVote(Instant since, Instant until, int batchSize, Consumer<Object[]> action) {
+        Instant afterTs = since;
+        String afterId = "";
+        while (true) {
+            List<Object[]> batch = findVotesAfter(afterTs, afterId, until, PageRequest.of(0, batchSize));
+            batch.forEach(action);
+            if (batch.size() < batchSize) return;
+            Object[] last = batch.get(batch.size() - 1);
+            afterId = (String) last[0];
+            afterTs = (Instant) last[2];
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+}
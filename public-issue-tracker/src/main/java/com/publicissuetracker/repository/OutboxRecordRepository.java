@@ -0,0 +1,29 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.OutboxRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxRecordRepository extends JpaRepository<OutboxRecord, Long> {
+
+    /**
+     * The next records after a consumer's offset, in delivery (id) order.
+     */
+    @Query("SELECT r FROM OutboxRecord r WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<OutboxRecord> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Delete records every consumer has delivered (id <= upToId) once they are older than before.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxRecord r WHERE r.id <= :upToId AND r.createdAt < :before")
+    int deleteDelivered(@Param("upToId") long upToId, @Param("before") Instant before);
+}
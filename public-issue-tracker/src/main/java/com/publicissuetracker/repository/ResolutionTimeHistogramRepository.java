@@ -0,0 +1,48 @@
+package com.publicissuetracker.repository;
+
+import com.publicissuetracker.model.ResolutionTimeHistogram;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResolutionTimeHistogramRepository
+        extends JpaRepository<ResolutionTimeHistogram, ResolutionTimeHistogram.Key> {
+
+    /**
+     * One histogram row, locked until the transaction ends (its data is read, changed and written back).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ResolutionTimeHistogram h WHERE h.key = :key")
+    Optional<ResolutionTimeHistogram> findForUpdate(@Param("key") ResolutionTimeHistogram.Key key);
+
+    /**
+     * Plain INSERT of an empty histogram; fails on the primary key if another transaction created it first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resolution_time_histograms (kind, resolved_on, category, value_count, data, updated_at) " +
+            "VALUES (:kind, :day, :category, 0, :data, :at)", nativeQuery = true)
+    int insertEmpty(@Param("kind") String kind,
+                    @Param("day") LocalDate day,
+                    @Param("category") String category,
+                    @Param("data") byte[] data,
+                    @Param("at") Instant at);
+
+    /**
+     * Histograms of one kind for the days in [from, to], optionally of one category only.
+     */
+    @Query("SELECT h FROM ResolutionTimeHistogram h WHERE h.key.kind = :kind " +
+            "AND h.key.day BETWEEN :from AND :to " +
+            "AND (:category IS NULL OR h.key.category = :category)")
+    List<ResolutionTimeHistogram> findRange(@Param("kind") String kind,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("category") String category);
+}
@@ -2,6 +2,11 @@ package com.publicissuetracker.repository;
 
 import com.publicissuetracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -11,4 +16,15 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     // check if a user exists with this email
     boolean existsByEmail(String email);
+
+    /**
+     * Replace a password hash (rehash on login), only if it is still the one that was checked,
+     * so a password changed in the meantime is never overwritten.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") String id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
 }
@@ -0,0 +1,220 @@
+package com.publicissuetracker.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ *
+ * A document is identified by an external key (the issue id) and can grow over time:
+ * add() merges new term frequencies into the existing document, which is how comments
+ * are folded into their issue. Terms are kept in a sorted dictionary so prefix queries
+ * are a sub-map range scan.
+ */
+public class InvertedIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docIdByKey = new HashMap<>();
+    private final List<String> keyByDocId = new ArrayList<>();
+    private int[] docLengths = new int[1024];
+    private long totalLength = 0;
+
+    /**
+     * Merge term frequencies into the document for key (creating it if needed).
+     */
+    public void add(String key, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            int doc = docIdByKey.computeIfAbsent(key, k -> {
+                keyByDocId.add(k);
+                int id = keyByDocId.size() - 1;
+                if (id == docLengths.length) docLengths = Arrays.copyOf(docLengths, id * 2);
+                return id;
+            });
+            for (Map.Entry<String, Integer> e : termFreqs.entrySet()) {
+                terms.computeIfAbsent(e.getKey(), t -> new Postings()).add(doc, e.getValue());
+                docLengths[doc] += e.getValue();
+                totalLength += e.getValue();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return docIdByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keyByDocId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docIdByKey.clear();
+            keyByDocId.clear();
+            Arrays.fill(docLengths, 0);
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k documents for the query terms by BM25. Terms listed in prefixTerms are expanded to every
+     * indexed term that starts with them (capped at MAX_PREFIX_EXPANSIONS, each counted with half weight
+     * unless it is an exact match).
+     */
+    public List<Hit> search(List<String> exactTerms, List<String> prefixTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            int n = keyByDocId.size();
+            if (n == 0 || limit <= 0) return new ArrayList<>();
+            double avgLen = (double) totalLength / n;
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (String t : exactTerms) {
+                Postings p = terms.get(t);
+                if (p != null) score(p, 1.0, n, avgLen, scores);
+            }
+            for (String prefix : prefixTerms) {
+                NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+                int expanded = 0;
+                for (Map.Entry<String, Postings> e : range.entrySet()) {
+                    if (expanded++ >= MAX_PREFIX_EXPANSIONS) break;
+                    double weight = e.getKey().equals(prefix) ? 1.0 : 0.5;
+                    score(e.getValue(), weight, n, avgLen, scores);
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>((a, b) -> Double.compare(a.score, b.score));
+            for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(new Hit(keyByDocId.get(e.getKey()), e.getValue()));
+                } else if (e.getValue() > top.peek().score) {
+                    top.poll();
+                    top.add(new Hit(keyByDocId.get(e.getKey()), e.getValue()));
+                }
+            }
+            List<Hit> out = new ArrayList<>(top);
+            out.sort((a, b) -> Double.compare(b.score, a.score));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit every document as (key, term frequencies); used to write a compacted snapshot.
+     */
+    public void forEachDocument(BiConsumer<String, Map<String, Integer>> visitor) {
+        lock.readLock().lock();
+        try {
+            List<Map<String, Integer>> byDoc = new ArrayList<>(keyByDocId.size());
+            for (int i = 0; i < keyByDocId.size(); i++) byDoc.add(new HashMap<>());
+            for (Map.Entry<String, Postings> e : terms.entrySet()) {
+                Postings p = e.getValue();
+                for (int i = 0; i < p.capacity(); i++) {
+                    if (p.docAt(i) >= 0) byDoc.get(p.docAt(i)).put(e.getKey(), p.tfAt(i));
+                }
+            }
+            for (int i = 0; i < keyByDocId.size(); i++) visitor.accept(keyByDocId.get(i), byDoc.get(i));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Postings p, double weight, int n, double avgLen, Map<Integer, Double> scores) {
+        int df = p.size();
+        double idf = Math.log(1.0 + (n - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < p.capacity(); i++) {
+            int doc = p.docAt(i);
+            if (doc < 0) continue;
+            int tf = p.tfAt(i);
+            double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[doc] / avgLen));
+            scores.merge(doc, weight * idf * norm, Double::sum);
+        }
+    }
+
+    public static final class Hit {
+        public final String key;
+        public final double score;
+
+        Hit(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+    }
+
+    /**
+     * docId -> term frequency, as an open-addressing int/int hash table (no boxing, O(1) merge).
+     */
+    static final class Postings {
+        private int[] docs = emptySlots(4);
+        private int[] tfs = new int[4];
+        private int size;
+
+        void add(int doc, int tf) {
+            if ((size + 1) * 4 > docs.length * 3) grow();
+            int mask = docs.length - 1;
+            int i = mix(doc) & mask;
+            while (docs[i] >= 0 && docs[i] != doc) i = (i + 1) & mask;
+            if (docs[i] < 0) {
+                docs[i] = doc;
+                size++;
+            }
+            tfs[i] += tf;
+        }
+
+        int size() { return size; }
+        int capacity() { return docs.length; }
+        int docAt(int slot) { return docs[slot]; }
+        int tfAt(int slot) { return tfs[slot]; }
+
+        private void grow() {
+            int[] oldDocs = docs, oldTfs = tfs;
+            docs = emptySlots(oldDocs.length * 2);
+            tfs = new int[oldDocs.length * 2];
+            size = 0;
+            for (int i = 0; i < oldDocs.length; i++) {
+                if (oldDocs[i] >= 0) add(oldDocs[i], oldTfs[i]);
+            }
+        }
+
+        private static int[] emptySlots(int n) {
+            int[] a = new int[n];
+            Arrays.fill(a, -1);
+            return a;
+        }
+
+        private static int mix(int x) {
+            x *= 0x9E3779B9;
+            return x ^ (x >>> 16);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.publicissuetracker.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local-disk persistence for the search index.
+ *
+ * Live updates are appended to numbered log segments (seg-000001.log, ...), rolled at a size limit.
+ * compact() writes everything into one snapshot.seg that records the highest segment number it
+ * covers, then deletes those logs. On startup replay() reads the snapshot, then the remaining logs,
+ * so the index comes back without touching the database. A torn record at the end of a log (crash
+ * mid-write) is ignored.
+ */
+public class SegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStore.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x50495453; // "PITS"
+    private static final int LOG_MAGIC = 0x5049544C;      // "PITL"
+    private static final int VERSION = 1;
+    private static final String SNAPSHOT = "snapshot.seg";
+
+    public static final byte KIND_ISSUE = 'I';
+    public static final byte KIND_COMMENT = 'C';
+
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private DataOutputStream active;
+    private int activeNumber;
+    private long activeBytes;
+
+    public SegmentStore(Path dir, long maxSegmentBytes) {
+        this.dir = dir;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /** One indexed source row (an issue's own text or one comment). */
+    public static class Record {
+        public final byte kind;
+        public final String sourceId;
+        public final String issueId;
+        public final Instant ts;
+        public final Map<String, Integer> terms;
+
+        public Record(byte kind, String sourceId, String issueId, Instant ts, Map<String, Integer> terms) {
+            this.kind = kind;
+            this.sourceId = sourceId;
+            this.issueId = issueId;
+            this.ts = ts;
+            this.terms = terms;
+        }
+    }
+
+    public boolean isEmpty() {
+        return logNumbers().isEmpty() && !Files.exists(dir.resolve(SNAPSHOT));
+    }
+
+    public int segmentCount() {
+        return logNumbers().size();
+    }
+
+    /**
+     * Replay snapshot then logs. Snapshot documents are reported as (issueId, terms) to onDocument and
+     * its saved watermarks are merged into issueMark / commentMark; log records go to onRecord.
+     */
+    public synchronized void replay(BiConsumer<String, Map<String, Integer>> onDocument,
+                                    Consumer<Record> onRecord,
+                                    Watermark issueMark, Watermark commentMark) {
+        int coveredThrough = 0;
+        Path snapshot = dir.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = open(snapshot)) {
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unrecognized snapshot header");
+                }
+                coveredThrough = in.readInt();
+                // new logs must be numbered after what the snapshot already covers
+                activeNumber = Math.max(activeNumber, coveredThrough);
+                readWatermark(in, issueMark);
+                readWatermark(in, commentMark);
+                int docs = in.readInt();
+                for (int i = 0; i < docs; i++) {
+                    String issueId = in.readUTF();
+                    onDocument.accept(issueId, readTerms(in));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read search snapshot " + snapshot, e);
+            }
+        }
+        for (int n : logNumbers()) {
+            if (n <= coveredThrough) continue;
+            Path file = logPath(n);
+            try (DataInputStream in = open(file)) {
+                if (in.readInt() != LOG_MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unrecognized segment header");
+                }
+                while (true) {
+                    Record r;
+                    try {
+                        r = readRecord(in);
+                    } catch (EOFException eof) {
+                        break; // clean end of file, or a torn last record
+                    }
+                    onRecord.accept(r);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read search segment " + file, e);
+            }
+        }
+    }
+
+    public synchronized void append(Record r) {
+        try {
+            if (active == null || activeBytes >= maxSegmentBytes) roll();
+            int before = active.size();
+            writeRecord(active, r);
+            active.flush();
+            activeBytes += active.size() - before;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to search segment", e);
+        }
+    }
+
+    /**
+     * Replace all current segments with one snapshot. The caller must block concurrent appends
+     * and index updates for the duration so the snapshot and the remaining logs never overlap.
+     */
+    public synchronized void compact(Consumer<BiConsumer<String, Map<String, Integer>>> documents,
+                                     Watermark issueMark, Watermark commentMark) {
+        try {
+            closeActive();
+            List<Integer> covered = logNumbers();
+            int coveredThrough = covered.isEmpty() ? activeNumber : covered.get(covered.size() - 1);
+
+            // collect first so we know the document count for the header
+            List<String> ids = new ArrayList<>();
+            List<Map<String, Integer>> termMaps = new ArrayList<>();
+            documents.accept((id, terms) -> {
+                ids.add(id);
+                termMaps.add(terms);
+            });
+
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve(SNAPSHOT + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(coveredThrough);
+                writeWatermark(out, issueMark);
+                writeWatermark(out, commentMark);
+                out.writeInt(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    out.writeUTF(ids.get(i));
+                    writeTerms(out, termMaps.get(i));
+                }
+            }
+            Files.move(tmp, dir.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (int n : covered) Files.deleteIfExists(logPath(n));
+            activeNumber = Math.max(activeNumber, coveredThrough);
+            log.info("Compacted {} search segment(s) into a snapshot of {} documents", covered.size(), ids.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact search segments", e);
+        }
+    }
+
+    /** Delete every snapshot and segment (before a full rebuild). */
+    public synchronized void reset() {
+        try {
+            closeActive();
+            for (int n : logNumbers()) Files.deleteIfExists(logPath(n));
+            Files.deleteIfExists(dir.resolve(SNAPSHOT));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reset search segments", e);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            closeActive();
+        } catch (IOException e) {
+            log.warn("Could not close search segment: {}", e.getMessage());
+        }
+    }
+
+    // --- internals ---
+
+    private void roll() throws IOException {
+        closeActive();
+        Files.createDirectories(dir);
+        List<Integer> existing = logNumbers();
+        activeNumber = Math.max(activeNumber, existing.isEmpty() ? 0 : existing.get(existing.size() - 1)) + 1;
+        active = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logPath(activeNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+        active.writeInt(LOG_MAGIC);
+        active.writeInt(VERSION);
+        active.flush();
+        activeBytes = active.size();
+    }
+
+    private void closeActive() throws IOException {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+    }
+
+    private List<Integer> logNumbers() {
+        if (!Files.isDirectory(dir)) return new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith("seg-") && name.endsWith(".log"))
+                    .map(name -> Integer.parseInt(name.substring(4, name.length() - 4)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path logPath(int n) {
+        return dir.resolve(String.format("seg-%06d.log", n));
+    }
+
+    private static DataInputStream open(Path p) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(p)));
+    }
+
+    private static void writeRecord(DataOutputStream out, Record r) throws IOException {
+        out.writeByte(r.kind);
+        out.writeUTF(r.sourceId);
+        out.writeUTF(r.issueId);
+        out.writeLong(r.ts.getEpochSecond());
+        out.writeInt(r.ts.getNano());
+        writeTerms(out, r.terms);
+    }
+
+    private static Record readRecord(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        String sourceId = in.readUTF();
+        String issueId = in.readUTF();
+        Instant ts = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return new Record(kind, sourceId, issueId, ts, readTerms(in));
+    }
+
+    private static void writeTerms(DataOutputStream out, Map<String, Integer> terms) throws IOException {
+        out.writeInt(terms.size());
+        for (Map.Entry<String, Integer> e : terms.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeInt(e.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readTerms(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<String, Integer> terms = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) terms.put(in.readUTF(), in.readInt());
+        return terms;
+    }
+
+    private static void writeWatermark(DataOutputStream out, Watermark w) throws IOException {
+        Instant ts = w.getTs();
+        out.writeBoolean(ts != null);
+        if (ts == null) return;
+        out.writeLong(ts.getEpochSecond());
+        out.writeInt(ts.getNano());
+        Set<String> ids = w.getIdsAtTs();
+        out.writeInt(ids.size());
+        for (String id : ids) out.writeUTF(id);
+    }
+
+    private static void readWatermark(DataInputStream in, Watermark w) throws IOException {
+        if (!in.readBoolean()) return;
+        Instant ts = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) w.observe(ts, in.readUTF());
+    }
+}
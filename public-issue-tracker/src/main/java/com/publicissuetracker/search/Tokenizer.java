@@ -0,0 +1,57 @@
+package com.publicissuetracker.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits text into lower-cased, accent-folded terms on anything that is not a letter or digit.
+ * A short English stop-word list is dropped; no stemming (prefix queries cover most plurals).
+ */
+public final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with"
+    );
+
+    private Tokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) return out;
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                addTerm(out, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    /** Term -> frequency for one piece of text, each occurrence counted {@code weight} times. */
+    public static Map<String, Integer> termFrequencies(String text, int weight, Map<String, Integer> into) {
+        Map<String, Integer> tf = into != null ? into : new HashMap<>();
+        for (String t : tokenize(text)) tf.merge(t, weight, Integer::sum);
+        return tf;
+    }
+
+    private static void addTerm(List<String> out, String term) {
+        if (STOP_WORDS.contains(term)) return;
+        out.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+    }
+}
@@ -0,0 +1,41 @@
+package com.publicissuetracker.search;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Highest source timestamp indexed so far, plus the ids indexed at exactly that timestamp,
+ * so a catch-up query "created_at >= ts" can skip rows that are already in the index.
+ */
+public class Watermark {
+
+    private Instant ts;
+    private final Set<String> idsAtTs = new HashSet<>();
+
+    public synchronized void observe(Instant when, String id) {
+        if (when == null) return;
+        if (ts == null || when.isAfter(ts)) {
+            ts = when;
+            idsAtTs.clear();
+            idsAtTs.add(id);
+        } else if (when.equals(ts)) {
+            idsAtTs.add(id);
+        }
+    }
+
+    /** True if a row with this timestamp/id is known to be indexed already. */
+    public synchronized boolean covers(Instant when, String id) {
+        if (ts == null || when == null) return false;
+        return when.isBefore(ts) || (when.equals(ts) && idsAtTs.contains(id));
+    }
+
+    public synchronized Instant getTs() { return ts; }
+
+    public synchronized Set<String> getIdsAtTs() { return new HashSet<>(idsAtTs); }
+
+    public synchronized void reset() {
+        ts = null;
+        idsAtTs.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.publicissuetracker.security;
+
+import com.publicissuetracker.model.User;
+
+/**
+ * The authentication principal set by JwtAuthenticationFilter: id, email and role from the
+ * verified token claims, name from the cached UserSnapshot. Immutable and free of credentials.
+ */
+public final class AuthenticatedUser {
+
+    private final String id;
+    private final String email;
+    private final String name;
+    private final String role;
+
+    public AuthenticatedUser(String id, String email, String name, String role) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+    }
+
+    public String getId() { return id; }
+    public String getEmail() { return email; }
+    public String getName() { return name; }
+    public String getRole() { return role; }
+
+    /**
+     * A detached User with the principal's fields, for the service methods that take the acting
+     * User (they read its id and name, or use it as an association reference).
+     */
+    public User asUser() {
+        User u = new User();
+        u.setId(id);
+        u.setEmail(email);
+        u.setName(name);
+        u.setRole(role);
+        return u;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -1,7 +1,7 @@
 package com.publicissuetracker.security;
 
-import com.publicissuetracker.model.User;
-import com.publicissuetracker.repository.UserRepository;
+import com.publicissuetracker.service.UserService;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,17 +18,18 @@ import java.util.Optional;
 /**
  * Filter that:
  * - reads Authorization: Bearer <token>
- * - validates token with JwtUtil
- * - loads User from DB and sets Authentication principal = User
+ * - verifies the token once with JwtUtil (cached per token until it expires)
+ * - checks its claims against the cached UserSnapshot (user still exists, same role, not revoked)
+ * - sets Authentication principal = AuthenticatedUser built from the claims (no database query)
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserService userService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.userService = userService;
     }
 
     @Override
@@ -39,15 +40,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                String userId = jwtUtil.getUserIdFromToken(token);
+            Optional<Claims> claims = jwtUtil.verify(token);
+            if (claims.isPresent()) {
+                Claims c = claims.get();
+                String userId = c.getSubject();
+                String role = c.get("role", String.class);
                 if (userId != null) {
-                    Optional<User> maybe = userRepository.findById(userId);
+                    Optional<UserSnapshot> maybe = userService.findSnapshot(userId)
+                            .filter(snapshot -> snapshot.admits(role, JwtUtil.issuedAt(c)));
                     if (maybe.isPresent()) {
-                        User user = maybe.get();
+                        AuthenticatedUser user = new AuthenticatedUser(userId, c.get("email", String.class),
+                                maybe.get().getName(), role);
                         // build simple authorities list from role
                         List<SimpleGrantedAuthority> authorities = List.of(
-                                new SimpleGrantedAuthority("ROLE_" + user.getRole())
+                                new SimpleGrantedAuthority("ROLE_" + role)
                         );
                         UsernamePasswordAuthenticationToken auth =
                                 new UsernamePasswordAuthenticationToken(user, null, authorities);
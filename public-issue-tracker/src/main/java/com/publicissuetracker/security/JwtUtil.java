@@ -1,8 +1,11 @@
 package com.publicissuetracker.security;
 
+import com.publicissuetracker.config.CacheConfig;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -10,28 +13,37 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Simple JWT utility using jjwt (0.11.5).
  *
- * - Generates tokens with subject = userId and claims: email, role
- * - Validates tokens and extracts user id
+ * - Generates tokens with subject = userId and claims: email, role, iat_ms (issue time in millis)
+ * - Verifies tokens with one shared (immutable, thread-safe) parser and caches the verified claims
  *
  * Note: keep the secret safe in production (env var / vault).
  */
 @Component
 public class JwtUtil {
 
+    // issue time in epoch millis; iat only has whole seconds, too coarse to order a token against a revocation
+    static final String ISSUED_AT_MILLIS = "iat_ms";
+
     private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long expirationMs;
+    private final Cache tokenCache;
 
     public JwtUtil(
             @Value("${jwt.secret}") String jwtSecret,
-            @Value("${jwt.expiration}") long expirationMs
+            @Value("${jwt.expiration}") long expirationMs,
+            CacheManager cacheManager
     ) {
         // create a signing key from the configured secret
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
         this.expirationMs = expirationMs;
+        this.tokenCache = cacheManager.getCache(CacheConfig.TOKENS);
     }
 
     /**
@@ -52,35 +64,51 @@ public class JwtUtil {
                 .setExpiration(Date.from(exp))
                 .addClaims(Map.of(
                         "email", email,
-                        "role", role
+                        "role", role,
+                        ISSUED_AT_MILLIS, now.toEpochMilli()
                 ))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify the token (signature and expiration) once and return its claims, or empty if it is
+     * invalid. Tokens verified before come from the tokens cache until their exp. The returned
+     * claims may be shared between requests: read them, never modify them.
+     *
+     * @param token the compact JWT (without "Bearer " prefix)
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        Claims cached = tokenCache.get(token, Claims.class);
+        if (cached != null) return Optional.of(cached);
+        try {
+            // throws on a bad signature, malformed or expired token
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            tokenCache.put(token, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * When the token was issued, to the millisecond; tokens from before the iat_ms claim fall
+     * back to iat (whole seconds). Null if the token carries neither.
+     */
+    public static Instant issuedAt(Claims claims) {
+        Number millis = claims.get(ISSUED_AT_MILLIS, Number.class);
+        if (millis != null) return Instant.ofEpochMilli(millis.longValue());
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
     /**
      * Validate the token signature and expiration.
      * @param token the JWT string (may include "Bearer " prefix; this method does not strip it)
      * @return true if valid
      */
     public boolean validateToken(String token) {
-        try {
-            // parse will throw on invalid/expired token
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException | MalformedJwtException ex) {
-            // invalid signature / malformed
-            return false;
-        } catch (ExpiredJwtException ex) {
-            // token expired
-            return false;
-        } catch (UnsupportedJwtException | IllegalArgumentException ex) {
-            // other parse issues
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     /**
@@ -89,32 +117,13 @@ public class JwtUtil {
      * @return subject (user id) or null if token invalid
      */
     public String getUserIdFromToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getSubject();
-        } catch (JwtException ex) {
-            return null;
-        }
+        return verify(token).map(Claims::getSubject).orElse(null);
     }
 
     /**
      * Extract a claim value by name (e.g. "email" or "role"), or null if not present/invalid.
      */
     public String getClaim(String token, String claimName) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            Object v = claims.get(claimName);
-            return v == null ? null : v.toString();
-        } catch (JwtException ex) {
-            return null;
-        }
+        return verify(token).map(c -> c.get(claimName)).map(Object::toString).orElse(null);
     }
 }
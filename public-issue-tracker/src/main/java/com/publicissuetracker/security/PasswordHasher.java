@@ -0,0 +1,95 @@
+package com.publicissuetracker.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt hashing and verification on a small dedicated pool, so a login / signup burst can only
+ * use threadsPerCore of the CPUs and never every request thread.
+ *
+ * At most queueSize calls wait for a hashing thread; further ones, and those still waiting after
+ * timeoutMillis, fail fast with PasswordHashingBusyException (429) instead of piling up request
+ * threads. The caller's thread waits for the result, so callers must not hold a transaction
+ * (and with it a pooled connection) around these calls.
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          @Value("${auth.hashing.threadsPerCore:0.5}") double threadsPerCore,
+                          @Value("${auth.hashing.queueSize:64}") int queueSize,
+                          @Value("${auth.hashing.timeoutMillis:5000}") long timeoutMillis) {
+        this.encoder = encoder;
+        this.timeoutMillis = timeoutMillis;
+        int threads = Math.max(1, (int) Math.round(Runtime.getRuntime().availableProcessors() * threadsPerCore));
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash has a lower cost factor than the configured one (auth.bcrypt.strength)
+     * and should be replaced after the next successful login. Cheap: only reads the hash prefix.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException queueFull) {
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException slow) {
+            // still queued: drop it; already running: let it finish, nobody reads the result
+            future.cancel(false);
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
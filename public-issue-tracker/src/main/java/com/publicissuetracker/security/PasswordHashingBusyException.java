@@ -0,0 +1,12 @@
+package com.publicissuetracker.security;
+
+/**
+ * Thrown by PasswordHasher when its queue is full or a call waited too long for a hashing thread;
+ * answered with 429 Too Many Requests (GlobalExceptionHandler).
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in requests, please retry shortly");
+    }
+}
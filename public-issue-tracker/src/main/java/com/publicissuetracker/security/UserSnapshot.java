@@ -0,0 +1,46 @@
+package com.publicissuetracker.security;
+
+import com.publicissuetracker.model.User;
+
+import java.time.Instant;
+
+/**
+ * The few user fields authentication needs, cached per user id (users cache) so an authenticated
+ * request costs no query. Replaced when the user's role changes or their tokens are revoked.
+ */
+public final class UserSnapshot {
+
+    private final String id;
+    private final String name;
+    private final String role;
+    // access tokens issued before this are revoked (null = none)
+    private final Instant tokensValidAfter;
+
+    public UserSnapshot(String id, String name, String role, Instant tokensValidAfter) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.tokensValidAfter = tokensValidAfter;
+    }
+
+    public static UserSnapshot of(User u) {
+        return new UserSnapshot(u.getId(), u.getName(), u.getRole(), u.getTokensValidAfter());
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getRole() { return role; }
+    public Instant getTokensValidAfter() { return tokensValidAfter; }
+
+    /**
+     * Whether a verified token with these claims still speaks for this user: it carries the
+     * user's current role and was issued after the last revocation (JwtUtil.issuedAt). A token
+     * issued in the very millisecond of a revocation counts as revoked; one that only has a
+     * whole-second iat counts as issued at the start of that second.
+     */
+    public boolean admits(String roleClaim, Instant issuedAt) {
+        if (role == null || !role.equals(roleClaim)) return false;
+        if (tokensValidAfter == null) return true;
+        return issuedAt != null && issuedAt.isAfter(tokensValidAfter);
+    }
+}
@@ -0,0 +1,23 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.ClusterResponse;
+
+import java.util.List;
+
+public interface ClusterService {
+
+    /**
+     * Pre-aggregated clusters for a zoom level inside a bounding box.
+     * Zoom levels above the configured maximum are served from the maximum level.
+     * If minLng > maxLng the box is treated as crossing the antimeridian.
+     *
+     * @throws IllegalArgumentException for out-of-range coordinates or zoom
+     */
+    List<ClusterResponse> findClusters(int zoom, double minLat, double minLng, double maxLat, double maxLng);
+
+    /**
+     * Re-aggregate all clusters from the database. Queries keep using the current clusters until
+     * the new ones are complete.
+     */
+    void rebuild();
+}
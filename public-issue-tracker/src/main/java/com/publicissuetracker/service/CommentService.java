@@ -2,9 +2,12 @@ package com.publicissuetracker.service;
 
 import com.publicissuetracker.dto.CommentCreateRequest;
 import com.publicissuetracker.dto.CommentResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
 import com.publicissuetracker.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CommentService {
 
@@ -14,9 +17,21 @@ public interface CommentService {
     CommentResponse createComment(String issueId, CommentCreateRequest req, User author);
 
     /**
-     * List comments (as DTOs) for an issue.
+     * One page of an issue's comments (keyset-paginated on createdAt, id), oldest first within
+     * the page. Without a cursor the newest page is returned.
+     *
+     * @param before olderCursor of a previous page (page backwards), or null
+     * @param after newerCursor of a previous page (page forwards), or null
+     * @param limit requested page size (clamped to a server-side maximum)
+     * @throws IllegalArgumentException if both cursors are given or a cursor is malformed
      */
-    List<CommentResponse> listComments(String issueId);
+    TimelinePageResponse<CommentResponse> listComments(String issueId, String before, String after, int limit);
+
+    /**
+     * Comments of several issues at once (one query for the comments, one for their authors),
+     * keyed by issue id in the order given. Issues without comments map to an empty list.
+     */
+    Map<String, List<CommentResponse>> listCommentsByIssueIds(Collection<String> issueIds);
 }
 
 
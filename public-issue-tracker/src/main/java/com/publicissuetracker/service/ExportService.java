@@ -0,0 +1,20 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * Stream every issue (with reporter / assignee names) to out, one row at a time.
+     * Memory use is independent of the number of rows.
+     */
+    void exportIssues(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream every issue event to out, one row at a time.
+     */
+    void exportEvents(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.model.IssueEvent;
+
+/**
+ * Where the service layer writes IssueEvent audit records. Selected by events.sink.mode:
+ * "sync" (default) writes them in the caller's transaction, "async" queues them after commit
+ * and inserts them in batches in the background.
+ */
+public interface IssueEventSink {
+
+    /**
+     * Record an event. Call inside the transaction that makes the change it describes; the event
+     * is only written if that transaction commits.
+     */
+    void record(IssueEvent event);
+
+    /**
+     * True while an event of this issue has been recorded but is not yet readable from the
+     * database (only possible in async mode). Readers must not hand out a cacheable version then.
+     */
+    boolean isPending(String issueId);
+}
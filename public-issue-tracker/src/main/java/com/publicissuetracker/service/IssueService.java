@@ -1,10 +1,14 @@
 package com.publicissuetracker.service;
 
+import com.publicissuetracker.dto.EventResponse;
 import com.publicissuetracker.dto.IssueCreateRequest;
+import com.publicissuetracker.dto.IssuePageResponse;
 import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.dto.NearbyIssueResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
 import com.publicissuetracker.model.User;
-import com.publicissuetracker.dto.IssueResponse;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,10 +28,45 @@ public interface IssueService {
     Optional<IssueResponse> findById(String issueId);
 
     /**
-     * List all issues.
-     * Later we will add filters: status, category, location, etc.
+     * Version of one issue (its updatedAt) without loading it; changes whenever the issue, its
+     * comments or its events change. Empty if the issue does not exist.
+     */
+    Optional<Instant> findVersion(String issueId);
+
+    /**
+     * Version of an issue's event list: findVersion, except empty while one of its events is
+     * still queued for writing (events.sink.mode=async), when the list must not be cached.
+     */
+    Optional<Instant> findEventsVersion(String issueId);
+
+    /**
+     * Version of the issue list: the newest updatedAt of any issue (null when there are none).
+     * Deliberately ignores list filters, so any change anywhere invalidates every list page.
+     */
+    Instant listVersion();
+
+    /**
+     * Issues for the given ids, in the same order; unknown ids are skipped.
+     */
+    List<IssueResponse> findByIds(List<String> issueIds);
+
+    /**
+     * List issues newest first using keyset pagination.
+     *
+     * @param status optional status filter (null = any)
+     * @param category optional category filter (null = any)
+     * @param cursor opaque token from a previous page's nextCursor (null = first page)
+     * @param limit requested page size (clamped to a server-side maximum)
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    List<IssueResponse> listIssues();
+    IssuePageResponse listIssues(String status, String category, String cursor, int limit);
+
+    /**
+     * One page of an issue's events (timeline), keyset-paginated like CommentService.listComments.
+     *
+     * @throws IllegalArgumentException if both cursors are given or a cursor is malformed
+     */
+    TimelinePageResponse<EventResponse> listEvents(String issueId, String before, String after, int limit);
 
     /**
      * Update status of an issue (e.g., OPEN → RESOLVED).
@@ -45,5 +84,15 @@ public interface IssueService {
     Optional<IssueResponse> assign(String issueId, String assignedToUserId, User actingUser);
 
     List<IssueResponse> listIssuesByReporterId(String reporterId);
+
+    /**
+     * The k nearest issues within radiusMeters of (lat, lng), closest first.
+     * Candidates come from geohash prefix range scans (dense cells split into smaller ones);
+     * distances are exact (haversine).
+     *
+     * @param status optional status filter (null = any)
+     * @throws IllegalArgumentException for invalid coordinates or radius
+     */
+    List<NearbyIssueResponse> findNearby(double lat, double lng, double radiusMeters, int limit, String status);
 }
 
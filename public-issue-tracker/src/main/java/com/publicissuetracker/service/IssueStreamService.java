@@ -0,0 +1,20 @@
+package com.publicissuetracker.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface IssueStreamService {
+
+    /**
+     * Open a Server-Sent Events stream of committed issue changes (creation, status changes,
+     * assignments, comments), each sent as an EventResponse with the issue_events row's cursor
+     * as its SSE id. Filters are optional and combine with AND; reporterId / assigneeId match
+     * the issue's current reporter / assignee.
+     *
+     * @param lastEventId the id of the last event the client received (Last-Event-ID), or null;
+     *                    events recorded after it, and a few seconds before it (which may have
+     *                    committed later), are replayed from issue_events before live ones, so
+     *                    clients must skip event ids they have already seen
+     * @throws IllegalArgumentException if lastEventId is malformed
+     */
+    SseEmitter subscribe(String issueId, String reporterId, String assigneeId, String lastEventId);
+}
@@ -0,0 +1,27 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.SearchHitResponse;
+
+import java.util.List;
+
+public interface SearchService {
+
+    /**
+     * Issues matching the query in their title, description or comments, best match first.
+     * The last word (and any word ending in '*') is matched as a prefix, for search-as-you-type.
+     *
+     * @param limit maximum number of hits (clamped to a server-side maximum)
+     * @throws IllegalArgumentException if the query is blank
+     */
+    List<SearchHitResponse> search(String query, int limit);
+
+    /**
+     * Drop the index and its on-disk segments and rebuild both from the database.
+     */
+    void rebuild();
+
+    /**
+     * Number of issues currently indexed.
+     */
+    int size();
+}
@@ -0,0 +1,28 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.IssueMarkerResponse;
+
+import java.util.List;
+
+public interface SpatialIndexService {
+
+    /**
+     * Issues whose location lies inside the bounding box (inclusive), served from memory.
+     * If minLng > maxLng the box is treated as crossing the antimeridian.
+     *
+     * @param limit maximum number of markers to return (clamped to a server-side maximum)
+     * @throws IllegalArgumentException for out-of-range coordinates
+     */
+    List<IssueMarkerResponse> findWithin(double minLat, double minLng, double maxLat, double maxLng, int limit);
+
+    /**
+     * Reload the in-memory index from the database. Queries keep using the current index until
+     * the new one is complete.
+     */
+    void rebuild();
+
+    /**
+     * Number of issues currently indexed.
+     */
+    int size();
+}
@@ -0,0 +1,16 @@
+package com.publicissuetracker.service;
+
+public interface TileService {
+
+    /**
+     * Encoded marker tile for z/x/y (see MarkerTileEncoder for the format), from cache when possible.
+     *
+     * @throws IllegalArgumentException if z is outside the served zoom range or x/y are out of bounds
+     */
+    byte[] getTile(int z, int x, int y);
+
+    /**
+     * Smallest zoom level served as marker tiles (lower zooms should use clusters).
+     */
+    int getMinZoom();
+}
@@ -0,0 +1,19 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.TimelineItemResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
+
+public interface TimelineService {
+
+    /**
+     * One page of an issue's events and comments merged on (createdAt, id), oldest first within
+     * the page. Without a cursor the newest page is returned. COMMENT events are left out, the
+     * comment itself stands for them.
+     *
+     * @param before olderCursor of a previous page (page backwards), or null
+     * @param after newerCursor of a previous page (page forwards), or null
+     * @param limit requested page size (clamped to a server-side maximum)
+     * @throws IllegalArgumentException if both cursors are given or a cursor is malformed
+     */
+    TimelinePageResponse<TimelineItemResponse> listTimeline(String issueId, String before, String after, int limit);
+}
@@ -0,0 +1,29 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.TrendingIssueResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TrendingService {
+
+    /**
+     * The most active issues right now (new issue, comments, upvotes; older activity counts
+     * exponentially less), hottest first.
+     *
+     * @param limit maximum number of issues (clamped to trending.size)
+     */
+    List<TrendingIssueResponse> trending(int limit);
+
+    /**
+     * Count a newly recorded upvote.
+     *
+     * @param at the vote's stored created_at, the time a rebuild's replay reads for it
+     */
+    void recordUpvote(String issueId, Instant at);
+
+    /**
+     * Drop all scores and replay the recent issue_events and issue_votes.
+     */
+    void rebuild();
+}
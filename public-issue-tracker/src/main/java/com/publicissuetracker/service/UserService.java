@@ -3,6 +3,8 @@ package com.publicissuetracker.service;
 import com.publicissuetracker.dto.UserSignupRequest;
 import com.publicissuetracker.dto.UserLoginRequest;
 import com.publicissuetracker.dto.UserResponse;
+import com.publicissuetracker.security.UserSnapshot;
+
 import java.util.Optional;
 
 public interface UserService {
@@ -24,4 +26,23 @@ public interface UserService {
      * Find user by id (returns empty Optional if not found).
      */
     Optional<UserResponse> findById(String userId);
+
+    /**
+     * What JwtAuthenticationFilter checks a token's claims against (name, current role, token
+     * revocation). Served from the users cache, so authenticated requests don't hit the database.
+     */
+    Optional<UserSnapshot> findSnapshot(String userId);
+
+    /**
+     * Change a user's role (CITIZEN or ADMIN). Access tokens carrying the old role stop working
+     * at once; the user gets a token with the new role on the next refresh.
+     * Throws IllegalArgumentException for an unknown role.
+     */
+    Optional<UserResponse> changeRole(String userId, String role);
+
+    /**
+     * Reject every access token issued to the user so far (logout). Tokens issued in the same
+     * millisecond as the revocation are rejected as well.
+     */
+    void revokeAccessTokens(String userId);
 }
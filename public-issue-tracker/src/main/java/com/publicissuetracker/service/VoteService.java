@@ -0,0 +1,21 @@
+package com.publicissuetracker.service;
+
+import com.publicissuetracker.dto.UpvoteResponse;
+import com.publicissuetracker.model.User;
+
+import java.util.Optional;
+
+public interface VoteService {
+
+    /**
+     * Record the user's upvote on an issue. Idempotent: voting twice leaves the count unchanged.
+     *
+     * @return empty if the issue does not exist
+     */
+    Optional<UpvoteResponse> upvote(String issueId, User voter);
+
+    /**
+     * Write the buffered vote counts to the database now (also runs periodically and at shutdown).
+     */
+    void flush();
+}
@@ -0,0 +1,132 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.dto.ClusterResponse;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.geo.ClusterIndex;
+import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.service.ClusterService;
+import com.publicissuetracker.util.StringDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains per-zoom marker clusters (ClusterIndex) for the map feed.
+ * Built from the DB on startup, then updated incrementally after each committed issue change.
+ *
+ * A rebuild fills a fresh ClusterIndex and swaps it in when done (as SpatialIndexServiceImpl
+ * does): queries keep the old one meanwhile, and changes that arrive during the scan are replayed
+ * onto the new index before the swap, so they win over the rows the scan read.
+ */
+@Service
+public class ClusterServiceImpl implements ClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterServiceImpl.class);
+
+    private static final int REBUILD_BATCH = 5000;
+
+    private final IssueRepository issueRepository;
+    private final int maxZoom;
+    private volatile ClusterIndex index;
+
+    private final Object writeLock = new Object();
+    // held for the whole rebuild, so only one runs at a time
+    private final Object rebuildLock = new Object();
+    // changes to replay onto the index being built; null when no build runs (guarded by writeLock).
+    // Starts non-null: changes committed before the startup build begins must not be lost
+    private List<IssueChangedEvent> pending = new ArrayList<>();
+
+    public ClusterServiceImpl(IssueRepository issueRepository,
+                              @Value("${map.clusters.maxZoom:16}") int maxZoom) {
+        this.issueRepository = issueRepository;
+        this.maxZoom = maxZoom;
+        this.index = newIndex();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Could not build marker clusters at startup: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                if (pending == null) pending = new ArrayList<>();
+            }
+            ClusterIndex fresh = null;
+            try {
+                ClusterIndex building = newIndex();
+                issueRepository.forEachLocated(REBUILD_BATCH, v ->
+                        building.upsert(v.getId(), v.getLatitude(), v.getLongitude(), v.getStatus(), v.getCategory()));
+                fresh = building;
+            } finally {
+                // on failure the old index stays, kept current by the live changes
+                synchronized (writeLock) {
+                    if (fresh != null) {
+                        for (IssueChangedEvent ev : pending) apply(fresh, ev);
+                        index = fresh;
+                    }
+                    pending = null;
+                }
+            }
+        }
+        ClusterIndex index = this.index;
+        log.info("Marker clusters built for {} issues (zoom 0-{}) in {} ms",
+                index.size(), index.getMaxZoom(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        synchronized (writeLock) {
+            apply(index, ev);
+            if (pending != null) pending.add(ev);
+        }
+    }
+
+    private static void apply(ClusterIndex target, IssueChangedEvent ev) {
+        if (ev.hasLocation()) {
+            target.upsert(ev.getIssueId(), ev.getLatitude(), ev.getLongitude(), ev.getStatus(), ev.getCategory());
+        } else {
+            target.remove(ev.getIssueId());
+        }
+    }
+
+    private ClusterIndex newIndex() {
+        return new ClusterIndex(maxZoom,
+                new StringDictionary("OPEN", "IN_PROGRESS", "RESOLVED", "VERIFIED"),
+                new StringDictionary());
+    }
+
+    @Override
+    public List<ClusterResponse> findClusters(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        if (zoom < 0) {
+            throw new IllegalArgumentException("zoom must not be negative");
+        }
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat) {
+            throw new IllegalArgumentException("Latitude range must satisfy -90 <= minLat <= maxLat <= 90");
+        }
+        if (minLng < -180 || minLng > 180 || maxLng < -180 || maxLng > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        ClusterIndex index = this.index;
+        if (minLng <= maxLng) {
+            return index.query(zoom, minLat, minLng, maxLat, maxLng);
+        }
+        List<ClusterResponse> out = index.query(zoom, minLat, minLng, maxLat, 180.0);
+        out.addAll(index.query(zoom, minLat, -180.0, maxLat, maxLng));
+        return out;
+    }
+}
@@ -2,15 +2,21 @@ package com.publicissuetracker.service.impl;
 
 import com.publicissuetracker.dto.CommentCreateRequest;
 import com.publicissuetracker.dto.CommentResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
+import com.publicissuetracker.event.CommentAddedEvent;
 import com.publicissuetracker.model.Issue;
 import com.publicissuetracker.model.IssueComment;
 import com.publicissuetracker.model.IssueEvent;
 import com.publicissuetracker.model.User;
+import com.publicissuetracker.outbox.OutboxWriter;
 import com.publicissuetracker.repository.IssueCommentRepository;
-import com.publicissuetracker.repository.IssueEventRepository;
 import com.publicissuetracker.repository.IssueRepository;
 import com.publicissuetracker.repository.UserRepository;
 import com.publicissuetracker.service.CommentService;
+import com.publicissuetracker.service.IssueEventSink;
+import com.publicissuetracker.util.KeysetCursor;
+import com.publicissuetracker.util.KeysetWindow;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,25 +29,30 @@ import java.util.stream.Collectors;
 public class CommentServiceImpl implements CommentService {
 
     private final IssueCommentRepository commentRepo;
-    private final IssueEventRepository eventRepo;
+    private final IssueEventSink eventSink;
+    private final OutboxWriter outbox;
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CommentServiceImpl(IssueCommentRepository commentRepo,
-                              IssueEventRepository eventRepo,
+                              IssueEventSink eventSink,
+                              OutboxWriter outbox,
                               IssueRepository issueRepository,
-                              UserRepository userRepository) {
+                              UserRepository userRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentRepo = commentRepo;
-        this.eventRepo = eventRepo;
+        this.eventSink = eventSink;
+        this.outbox = outbox;
         this.issueRepository = issueRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public CommentResponse createComment(String issueId, CommentCreateRequest req, User author) {
         // validate issue exists
-        Optional<Issue> issueOpt = issueRepository.findById(issueId);
-        if (issueOpt.isEmpty()) {
+        if (!issueRepository.existsById(issueId)) {
             throw new IllegalArgumentException("Issue not found: " + issueId);
         }
 
@@ -66,12 +77,15 @@ public class CommentServiceImpl implements CommentService {
         ev.setActorId(author != null ? author.getId() : null);
         ev.setNote(text);
         ev.setCreatedAt(Instant.now());
-        eventRepo.save(ev);
+        eventSink.record(ev);
 
-        // update issue's updatedAt
-        Issue issue = issueOpt.get();
-        issue.setUpdatedAt(Instant.now());
-        issueRepository.save(issue);
+        // update issue's updatedAt, comment count and latest-comment preview (one atomic UPDATE)
+        issueRepository.recordComment(issueId, saved.getId(), saved.getAuthorId(),
+                Issue.previewOf(saved.getMessage()), saved.getCreatedAt());
+        outbox.append(ev); // after the issue row update, see OutboxWriter
+
+        // search index etc. pick this up after commit
+        eventPublisher.publishEvent(new CommentAddedEvent(saved, ev));
 
         // build response DTO (include authorName if possible)
         CommentResponse resp = new CommentResponse();
@@ -87,10 +101,32 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentResponse> listComments(String issueId) {
-        List<IssueComment> comments = commentRepo.findByIssueIdOrderByCreatedAtAsc(issueId);
-        if (comments.isEmpty()) return Collections.emptyList();
+    public TimelinePageResponse<CommentResponse> listComments(String issueId, String before, String after, int limit) {
+        return KeysetWindow.page(before, after, limit,
+                window -> commentRepo.findNewestByIssue(issueId, window),
+                (c, window) -> commentRepo.findByIssueBefore(issueId, c.getCreatedAt(), c.getId(), window),
+                (c, window) -> commentRepo.findByIssueAfter(issueId, c.getCreatedAt(), c.getId(), window),
+                c -> new KeysetCursor(c.getCreatedAt(), c.getId()),
+                comments -> comments.isEmpty() ? new ArrayList<>() : toResponses(comments));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<CommentResponse>> listCommentsByIssueIds(Collection<String> issueIds) {
+        // every requested issue gets an entry, in request order, even if it has no comments
+        Map<String, List<CommentResponse>> byIssue = new LinkedHashMap<>();
+        for (String id : issueIds) byIssue.put(id, new ArrayList<>());
+        if (byIssue.isEmpty()) return byIssue;
+
+        List<IssueComment> comments = commentRepo.findByIssueIdInOrderByCreatedAtAsc(byIssue.keySet());
+        for (CommentResponse c : toResponses(comments)) {
+            byIssue.get(c.issueId).add(c);
+        }
+        return byIssue;
+    }
 
+    // map comments to DTOs, resolving all author names with a single findAllById
+    private List<CommentResponse> toResponses(List<IssueComment> comments) {
         // gather authorIds (unique)
         Set<String> authorIds = comments.stream()
                 .map(IssueComment::getAuthorId)
@@ -0,0 +1,80 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.IssueComment;
+import com.publicissuetracker.repository.IssueCommentRepository;
+import com.publicissuetracker.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills issues.comment_count and the latest-comment columns for rows created before they existed.
+ * Runs once at startup in small transactions: two grouped queries per batch, then one guarded UPDATE
+ * per issue so updatedAt is left alone. New comments keep the columns current through
+ * IssueRepository.recordComment.
+ */
+@Component
+public class CommentStatsBackfillRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentStatsBackfillRunner.class);
+    private static final int BATCH = 500;
+
+    private final IssueRepository issueRepository;
+    private final IssueCommentRepository commentRepository;
+    private final TransactionTemplate tx;
+
+    public CommentStatsBackfillRunner(IssueRepository issueRepository,
+                                      IssueCommentRepository commentRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = 0;
+            while (true) {
+                Integer n = tx.execute(status -> {
+                    List<String> ids = issueRepository.findMissingCommentStats(PageRequest.of(0, BATCH));
+                    if (ids.isEmpty()) return 0;
+
+                    Map<String, Integer> counts = new HashMap<>();
+                    for (Object[] row : commentRepository.countByIssueIds(ids)) {
+                        counts.put((String) row[0], ((Number) row[1]).intValue());
+                    }
+                    Map<String, IssueComment> latest = new HashMap<>();
+                    for (IssueComment c : commentRepository.findLatestByIssueIds(ids)) {
+                        latest.merge(c.getIssueId(), c, (a, b) -> a.getId().compareTo(b.getId()) >= 0 ? a : b);
+                    }
+
+                    for (String id : ids) {
+                        IssueComment c = latest.get(id);
+                        issueRepository.backfillCommentStats(id, counts.getOrDefault(id, 0),
+                                c == null ? null : c.getId(),
+                                c == null ? null : c.getAuthorId(),
+                                c == null ? null : Issue.previewOf(c.getMessage()),
+                                c == null ? null : c.getCreatedAt());
+                    }
+                    return ids.size();
+                });
+                total += n == null ? 0 : n;
+                if (n == null || n < BATCH) break;
+            }
+            if (total > 0) log.info("Backfilled comment stats for {} issues", total);
+        } catch (Exception e) {
+            log.warn("Comment stats backfill failed: {}", e.getMessage());
+        }
+    }
+}
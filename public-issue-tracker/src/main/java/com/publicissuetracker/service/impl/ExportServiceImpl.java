@@ -0,0 +1,144 @@
+package com.publicissuetracker.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicissuetracker.archive.EventArchiveCodec;
+import com.publicissuetracker.export.ExportFormat;
+import com.publicissuetracker.export.RowWriter;
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.IssueEventArchive;
+import com.publicissuetracker.service.ExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming exports for analysts.
+ *
+ * Rows are read through a forward-only Hibernate ScrollableResults with the JDBC fetch size set to
+ * Integer.MIN_VALUE, which makes Connector/J stream the result row by row instead of buffering it
+ * (only these statements: a global useCursorFetch would server-side prepare every query in the
+ * app), and written to the response as they arrive. Scalar rows are not managed, and the session
+ * is cleared every fetchSize rows anyway, so heap use stays flat however large the tables are.
+ * While a result streams, its connection can run no other statement.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    static final String[] ISSUE_COLUMNS = {
+            "id", "title", "description", "category", "status", "latitude", "longitude", "address",
+            "createdById", "createdByName", "assignedToId", "assignedToName",
+            "createdAt", "updatedAt", "resolvedAt", "verifiedAt", "upvoteCount", "commentCount"
+    };
+    private static final String ISSUE_QUERY = "SELECT i.id, i.title, i.description, i.category, i.status, " +
+            "i.latitude, i.longitude, i.address, cb.id, cb.name, a.id, a.name, " +
+            "i.createdAt, i.updatedAt, i.resolvedAt, i.verifiedAt, i.upvoteCount, i.commentCount " +
+            "FROM Issue i LEFT JOIN i.createdBy cb LEFT JOIN i.assignedTo a " +
+            "ORDER BY i.createdAt, i.id";
+
+    static final String[] EVENT_COLUMNS = {
+            "id", "issueId", "type", "actorId", "fromStatus", "toStatus", "note", "createdAt"
+    };
+    // no ORDER BY: without a LIMIT MySQL sorts the whole table (spilling to disk) rather than read every row
+    // through idx_issue_events_created_at, so events come in primary key order; sort the file if order matters
+    private static final String EVENT_QUERY = "SELECT e.id, e.issueId, e.type, e.actorId, e.fromStatus, " +
+            "e.toStatus, e.note, e.createdAt FROM IssueEvent e";
+
+    // Connector/J: stream the result set instead of reading it all into memory
+    private static final int STREAM_ROWS = Integer.MIN_VALUE;
+    // archive rows hold a whole issue-month of compressed events each, so flush more often
+    private static final int ARCHIVE_FLUSH_ROWS = 100;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ObjectMapper mapper;
+    private final int fetchSize;
+
+    public ExportServiceImpl(ObjectMapper mapper,
+                             @Value("${export.fetchSize:1000}") int fetchSize) {
+        this.mapper = mapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportIssues(ExportFormat format, OutputStream out) throws IOException {
+        stream("issues", ISSUE_COLUMNS, format, out, writer -> scroll(ISSUE_QUERY, writer));
+    }
+
+    // hot issue_events first, then the months moved to issue_event_archive
+    @Override
+    public void exportEvents(ExportFormat format, OutputStream out) throws IOException {
+        stream("issue_events", EVENT_COLUMNS, format, out, writer -> scroll(EVENT_QUERY, writer) + scrollArchive(writer));
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        long writeTo(RowWriter writer) throws IOException;
+    }
+
+    private void stream(String what, String[] columns, ExportFormat format, OutputStream out, RowSource source)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        long rows;
+        try (RowWriter writer = RowWriter.create(format, out, columns, mapper)) {
+            rows = source.writeTo(writer);
+        }
+        log.info("Exported {} {} rows as {} in {} ms", rows, what, format, System.currentTimeMillis() - start);
+    }
+
+    private long scroll(String hql, RowWriter writer) throws IOException {
+        long rows = 0;
+        Session session = em.unwrap(Session.class);
+        try (ScrollableResults<Object[]> scroll = session.createSelectionQuery(hql, Object[].class)
+                .setFetchSize(STREAM_ROWS)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (scroll.next()) {
+                writer.write(scroll.get());
+                if (++rows % fetchSize == 0) {
+                    session.clear();
+                    writer.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long scrollArchive(RowWriter writer) throws IOException {
+        long rows = 0;
+        long months = 0;
+        Session session = em.unwrap(Session.class);
+        try (ScrollableResults<IssueEventArchive> scroll = session
+                .createSelectionQuery("SELECT a FROM IssueEventArchive a", IssueEventArchive.class)
+                .setFetchSize(STREAM_ROWS)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (scroll.next()) {
+                IssueEventArchive a = scroll.get();
+                for (IssueEvent e : EventArchiveCodec.decode(a.getIssueId(), a.getData())) {
+                    writer.write(new Object[]{e.getId(), e.getIssueId(), e.getType(), e.getActorId(),
+                            e.getFromStatus(), e.getToStatus(), e.getNote(), e.getCreatedAt()});
+                    rows++;
+                }
+                if (++months % ARCHIVE_FLUSH_ROWS == 0) {
+                    session.clear();
+                    writer.flush();
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.geo.GeoHash;
+import com.publicissuetracker.repository.IssueLocationView;
+import com.publicissuetracker.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills issues.geohash for rows created before the column existed.
+ * Runs once at startup in small transactions so it never holds long locks; new rows get their
+ * geohash from Issue's @PrePersist / @PreUpdate hooks. Bulk updates, so updated_at (ETags,
+ * list versions) is left alone.
+ */
+@Component
+public class GeohashBackfillRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeohashBackfillRunner.class);
+    private static final int BATCH = 500;
+
+    private final IssueRepository issueRepository;
+    private final TransactionTemplate tx;
+
+    public GeohashBackfillRunner(IssueRepository issueRepository, PlatformTransactionManager transactionManager) {
+        this.issueRepository = issueRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = 0;
+            while (true) {
+                Integer n = tx.execute(status -> {
+                    List<IssueLocationView> batch = issueRepository.findMissingGeohash(PageRequest.of(0, BATCH));
+                    for (IssueLocationView v : batch) {
+                        issueRepository.backfillGeohash(v.getId(),
+                                GeoHash.encode(v.getLatitude(), v.getLongitude(), GeoHash.STORED_PRECISION));
+                    }
+                    return batch.size();
+                });
+                total += n == null ? 0 : n;
+                if (n == null || n < BATCH) break;
+            }
+            if (total > 0) log.info("Backfilled geohash for {} issues", total);
+        } catch (Exception e) {
+            log.warn("Geohash backfill failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.event.CommentAddedEvent;
+import com.publicissuetracker.event.IssueChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached IssueResponses once a change is committed (status, assignment, new comment...),
+ * so the next read - and the next conditional GET version check - sees the new row.
+ */
+@Component
+public class IssueCacheEvictionListener {
+
+    private final Cache issues;
+
+    public IssueCacheEvictionListener(CacheManager cacheManager) {
+        this.issues = cacheManager.getCache(CacheConfig.ISSUES);
+    }
+
+    // before the in-memory index listeners, so nothing they trigger can read the stale entry
+    @Order(-10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        issues.evict(ev.getIssueId());
+    }
+
+    @Order(-10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent ev) {
+        issues.evict(ev.getIssueId());
+    }
+}
@@ -1,37 +1,90 @@
 package com.publicissuetracker.service.impl;
 
+import com.publicissuetracker.archive.IssueEventStore;
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.datasource.ReplicaRoutingDataSource;
+import com.publicissuetracker.dto.CommentResponse;
+import com.publicissuetracker.dto.EventResponse;
 import com.publicissuetracker.dto.IssueCreateRequest;
+import com.publicissuetracker.dto.IssuePageResponse;
 import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.dto.NearbyIssueResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.geo.GeoHash;
+import com.publicissuetracker.metrics.IssueCounters;
+import com.publicissuetracker.metrics.ResolutionTimes;
 import com.publicissuetracker.model.Issue;
 import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.IssueStatusCount;
 import com.publicissuetracker.model.User;
-import com.publicissuetracker.repository.IssueEventRepository;
+import com.publicissuetracker.outbox.OutboxWriter;
+import com.publicissuetracker.repository.IssueLocationView;
 import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.repository.IssueView;
 import com.publicissuetracker.repository.UserRepository;
+import com.publicissuetracker.service.IssueEventSink;
 import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.util.KeysetCursor;
+import com.publicissuetracker.util.KeysetWindow;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class IssueServiceImpl implements IssueService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    static final int MAX_NEARBY_RESULTS = 100;
+    private static final int NEARBY_CANDIDATES_PER_CELL = 5000;
+
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
-    private final IssueEventRepository issueEventRepository;
+    private final IssueEventStore eventStore;
+    private final IssueEventSink eventSink;
+    private final OutboxWriter outbox;
+    private final IssueCounters counters;
+    private final ResolutionTimes resolutionTimes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache issueCache;
 
-    // NOTE: add IssueEventRepository to constructor so Spring can autowire it
     public IssueServiceImpl(IssueRepository issueRepository,
                             UserRepository userRepository,
-                            IssueEventRepository issueEventRepository) {
+                            IssueEventStore eventStore,
+                            IssueEventSink eventSink,
+                            OutboxWriter outbox,
+                            IssueCounters counters,
+                            ResolutionTimes resolutionTimes,
+                            ApplicationEventPublisher eventPublisher,
+                            CacheManager cacheManager) {
         this.issueRepository = issueRepository;
         this.userRepository = userRepository;
-        this.issueEventRepository = issueEventRepository;
+        this.eventStore = eventStore;
+        this.eventSink = eventSink;
+        this.outbox = outbox;
+        this.counters = counters;
+        this.resolutionTimes = resolutionTimes;
+        this.eventPublisher = eventPublisher;
+        this.issueCache = cacheManager.getCache(CacheConfig.ISSUES);
     }
 
     @Override
@@ -46,6 +99,7 @@ public class IssueServiceImpl implements IssueService {
                 createdBy
         );
         Issue saved = issueRepository.save(issue);
+        counters.created(saved);
 
         // create an initial event for creation (optional)
         IssueEvent ev = new IssueEvent();
@@ -53,30 +107,111 @@ public class IssueServiceImpl implements IssueService {
         ev.setType("CREATED");
         ev.setActorId(createdBy != null ? createdBy.getId() : null);
         ev.setNote("Issue created");
-        issueEventRepository.save(ev);
+        eventSink.record(ev);
+        outbox.append(ev);
+
+        // in-memory indexes (map, ...) pick this up after commit
+        eventPublisher.publishEvent(IssueChangedEvent.created(saved, ev));
 
         return toResponse(saved);
     }
 
+    // cached; IssueCacheEvictionListener evicts after every committed change to the issue. Filled
+    // from the primary: a lagging replica's copy would outlive the eviction for the whole TTL
+    // (and findVersion would serve its updatedAt as the ETag)
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ISSUES, key = "#issueId", unless = "#result == null")
     public Optional<IssueResponse> findById(String issueId) {
-        return issueRepository.findById(issueId).map(this::toResponse);
+        return ReplicaRoutingDataSource.onPrimary(() -> issueRepository.findById(issueId).map(this::toResponse));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<IssueResponse> listIssues() {
-        return issueRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public Optional<Instant> findVersion(String issueId) {
+        // a cached response is evicted whenever updatedAt moves, so its updatedAt is current
+        IssueResponse cached = issueCache.get(issueId, IssueResponse.class);
+        if (cached != null && cached.updatedAt != null) return Optional.of(cached.updatedAt);
+        return issueRepository.findUpdatedAtById(issueId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Instant> findEventsVersion(String issueId) {
+        return eventSink.isPending(issueId) ? Optional.empty() : findVersion(issueId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Instant listVersion() {
+        return issueRepository.findMaxUpdatedAt();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IssueResponse> findByIds(List<String> issueIds) {
+        if (issueIds.isEmpty()) return new ArrayList<>();
+        Map<String, IssueView> byId = new HashMap<>();
+        for (IssueView v : issueRepository.findViewsByIdIn(issueIds)) byId.put(v.getId(), v);
+        List<IssueResponse> out = new ArrayList<>(byId.size());
+        for (String id : issueIds) {
+            IssueView v = byId.get(id);
+            if (v != null) out.add(toResponse(v));
+        }
+        return out;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IssuePageResponse listIssues(String status, String category, String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        String statusFilter = (status == null || status.isBlank()) ? null : status;
+        String categoryFilter = (category == null || category.isBlank()) ? null : category;
+
+        // fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<IssueView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = issueRepository.findPage(statusFilter, categoryFilter, window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = issueRepository.findPageAfter(statusFilter, categoryFilter,
+                    after.getCreatedAt(), after.getId(), window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        IssuePageResponse page = new IssuePageResponse();
+        page.items = rows.stream().map(this::toResponse).collect(Collectors.toList());
+        page.limit = pageSize;
+        if (hasMore) {
+            IssueView last = rows.get(rows.size() - 1);
+            page.nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimelinePageResponse<EventResponse> listEvents(String issueId, String before, String after, int limit) {
+        return KeysetWindow.page(before, after, limit,
+                window -> eventStore.findNewestByIssue(issueId, null, window),
+                (c, window) -> eventStore.findByIssueBefore(issueId, null, c.getCreatedAt(), c.getId(), window),
+                (c, window) -> eventStore.findByIssueAfter(issueId, null, c.getCreatedAt(), c.getId(), window),
+                e -> new KeysetCursor(e.getCreatedAt(), e.getId()),
+                events -> events.stream().map(this::toResponse).collect(Collectors.toList()));
     }
 
     @Override
     public Optional<IssueResponse> updateStatus(String issueId, String newStatus, User actingUser) {
-        return issueRepository.findById(issueId).map(issue -> {
+        // locked: a concurrent change must not count the issue out of the same counter again
+        return issueRepository.findByIdForUpdate(issueId).map(issue -> {
             // capture previous status before changing
             String previousStatus = issue.getStatus();
+            IssueStatusCount.Key counted = IssueStatusCount.Key.of(issue);
 
             issue.setStatus(newStatus);
 
@@ -89,6 +224,7 @@ public class IssueServiceImpl implements IssueService {
             issue.setUpdatedAt(Instant.now());
 
             Issue updated = issueRepository.save(issue);
+            counters.moved(counted, IssueStatusCount.Key.of(updated));
 
             // persist an IssueEvent for this status change
             IssueEvent ev = new IssueEvent();
@@ -98,7 +234,12 @@ public class IssueServiceImpl implements IssueService {
             ev.setFromStatus(previousStatus);
             ev.setToStatus(newStatus);
             ev.setNote(null);
-            issueEventRepository.save(ev);
+            eventSink.record(ev);
+            outbox.append(ev);
+            // RESOLVED / VERIFIED only; timed from the event, like a rebuild from issue_events
+            resolutionTimes.record(updated, newStatus, ev.getCreatedAt());
+
+            eventPublisher.publishEvent(IssueChangedEvent.statusChanged(updated, previousStatus, ev));
 
             return toResponse(updated);
         });
@@ -122,11 +263,14 @@ public class IssueServiceImpl implements IssueService {
         }
         User assignee = assigneeOpt.get();
 
-        // find issue and set assignee
-        return issueRepository.findById(issueId).map(issue -> {
+        // find issue (locked, see updateStatus) and set assignee
+        return issueRepository.findByIdForUpdate(issueId).map(issue -> {
+            String previousAssigneeId = issue.getAssignedTo() != null ? issue.getAssignedTo().getId() : null;
+            IssueStatusCount.Key counted = IssueStatusCount.Key.of(issue);
             issue.setAssignedTo(assignee);
             issue.setUpdatedAt(Instant.now());
             Issue updated = issueRepository.save(issue);
+            counters.moved(counted, IssueStatusCount.Key.of(updated));
 
             // create IssueEvent of type ASSIGNMENT
             IssueEvent ev = new IssueEvent();
@@ -136,7 +280,10 @@ public class IssueServiceImpl implements IssueService {
             ev.setFromStatus(issue.getStatus()); // note: this is the current status
             ev.setToStatus(issue.getStatus());
             ev.setNote("Assigned to user: " + assignee.getId());
-            issueEventRepository.save(ev);
+            eventSink.record(ev);
+            outbox.append(ev);
+
+            eventPublisher.publishEvent(IssueChangedEvent.assigned(updated, previousAssigneeId, ev));
 
             return toResponse(updated);
         });
@@ -144,18 +291,110 @@ public class IssueServiceImpl implements IssueService {
 
     /**
      * Return issues reported by a specific reporter (reporterId).
-     * Uses IssueRepository.findByReporterIdOrderByCreatedAtDesc(...)
+     * Uses IssueRepository.findByReporterIdOrderByCreatedAtDesc(...) (one query, names joined in)
      */
     @Override
     @Transactional(readOnly = true)
     public List<IssueResponse> listIssuesByReporterId(String reporterId) {
-        List<Issue> issues = issueRepository.findByReporterIdOrderByCreatedAtDesc(reporterId);
+        List<IssueView> issues = issueRepository.findByReporterIdOrderByCreatedAtDesc(reporterId);
         return issues.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
-    // --- helper method ---
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyIssueResponse> findNearby(double lat, double lng, double radiusMeters, int limit, String status) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("lat must be in [-90, 90] and lng in [-180, 180]");
+        }
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS) {
+            throw new IllegalArgumentException("radius must be between 0 and " + (long) MAX_NEARBY_RADIUS_METERS + " meters");
+        }
+        int k = limit <= 0 ? 20 : Math.min(limit, MAX_NEARBY_RESULTS);
+        String statusFilter = (status == null || status.isBlank()) ? null : status;
+
+        // 1) prefilter: the covering geohash cell and its neighbours, one index range scan each
+        int precision = GeoHash.precisionForRadius(radiusMeters, lat);
+        Map<String, Double> distanceById = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (String cell : GeoHash.cellAndNeighbours(lat, lng, precision)) {
+            collectNearby(cell, lat, lng, radiusMeters, statusFilter, seen, distanceById);
+        }
+
+        // 3) k nearest, then hydrate only those k rows
+        List<String> nearestIds = distanceById.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (nearestIds.isEmpty()) return new ArrayList<>();
+
+        List<NearbyIssueResponse> out = new ArrayList<>();
+        for (IssueView v : issueRepository.findViewsByIdIn(nearestIds)) {
+            NearbyIssueResponse r = new NearbyIssueResponse();
+            r.issue = toResponse(v);
+            r.distanceMeters = distanceById.get(v.getId());
+            out.add(r);
+        }
+        out.sort(Comparator.comparingDouble(r -> r.distanceMeters));
+        return out;
+    }
+
+    // --- helper methods ---
+
+    // A cell with more candidates than one scan returns (an arbitrary subset, not the nearest) is
+    // split into its sub-cells that reach into the circle, down to the stored precision, whose
+    // cells are a few metres across and can be taken as they come.
+    private void collectNearby(String cell, double lat, double lng, double radiusMeters, String status,
+                               Set<String> seen, Map<String, Double> distanceById) {
+        List<IssueLocationView> candidates = issueRepository.findLocationsByGeohashPrefix(
+                cell + "%", status, PageRequest.of(0, NEARBY_CANDIDATES_PER_CELL));
+        if (candidates.size() >= NEARBY_CANDIDATES_PER_CELL && cell.length() < GeoHash.STORED_PRECISION) {
+            for (String child : GeoHash.children(cell)) {
+                if (GeoHash.distanceToCellMeters(lat, lng, child) <= radiusMeters) {
+                    collectNearby(child, lat, lng, radiusMeters, status, seen, distanceById);
+                }
+            }
+            return;
+        }
+        for (IssueLocationView c : candidates) {
+            if (!seen.add(c.getId())) continue;
+            // 2) exact haversine distance, drop anything outside the circle
+            double d = GeoHash.haversineMeters(lat, lng, c.getLatitude(), c.getLongitude());
+            if (d <= radiusMeters) distanceById.put(c.getId(), d);
+        }
+    }
+
+    // read paths: every column is already in the projection, nothing is lazily loaded
+    private IssueResponse toResponse(IssueView v) {
+        IssueResponse r = new IssueResponse();
+        r.id = v.getId();
+        r.title = v.getTitle();
+        r.description = v.getDescription();
+        r.category = v.getCategory();
+        r.status = v.getStatus();
+        r.latitude = v.getLatitude();
+        r.longitude = v.getLongitude();
+        r.address = v.getAddress();
+        r.createdById = v.getCreatedById();
+        r.createdByName = v.getCreatedByName();
+        r.assignedToId = v.getAssignedToId();
+        r.assignedToName = v.getAssignedToName();
+        r.createdAt = v.getCreatedAt();
+        r.updatedAt = v.getUpdatedAt();
+        r.resolvedAt = v.getResolvedAt();
+        r.verifiedAt = v.getVerifiedAt();
+        r.upvoteCount = v.getUpvoteCount();
+        r.commentCount = v.getCommentCount();
+        if (v.getLastCommentId() != null) {
+            r.latestComment = latestComment(v.getId(), v.getLastCommentId(), v.getLastCommentAuthorId(),
+                    v.getLastCommentPreview(), v.getLastCommentAt());
+            r.latestComment.authorName = v.getLastCommentAuthorName();
+        }
+        return r;
+    }
+
     private IssueResponse toResponse(Issue i) {
         IssueResponse r = new IssueResponse();
         r.id = i.getId();
@@ -181,7 +420,36 @@ public class IssueServiceImpl implements IssueService {
         r.resolvedAt = i.getResolvedAt();
         r.verifiedAt = i.getVerifiedAt();
         r.upvoteCount = i.getUpvoteCount();
+        r.commentCount = i.getCommentCount();
+        if (i.getLastCommentId() != null) {
+            // author name is only joined on the IssueView read paths
+            r.latestComment = latestComment(i.getId(), i.getLastCommentId(), i.getLastCommentAuthorId(),
+                    i.getLastCommentPreview(), i.getLastCommentAt());
+        }
 
         return r;
     }
+
+    private static CommentResponse latestComment(String issueId, String id, String authorId, String preview, Instant at) {
+        CommentResponse c = new CommentResponse();
+        c.id = id;
+        c.issueId = issueId;
+        c.authorId = authorId;
+        c.message = preview;
+        c.createdAt = at;
+        return c;
+    }
+
+    private EventResponse toResponse(IssueEvent e) {
+        EventResponse er = new EventResponse();
+        er.id = e.getId();
+        er.issueId = e.getIssueId();
+        er.type = e.getType();
+        er.actorId = e.getActorId();
+        er.fromStatus = e.getFromStatus();
+        er.toStatus = e.getToStatus();
+        er.note = e.getNote();
+        er.createdAt = e.getCreatedAt();
+        return er;
+    }
 }
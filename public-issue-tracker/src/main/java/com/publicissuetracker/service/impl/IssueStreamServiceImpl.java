@@ -0,0 +1,240 @@
+package com.publicissuetracker.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicissuetracker.archive.IssueEventArchiver;
+import com.publicissuetracker.datasource.ReplicaRoutingDataSource;
+import com.publicissuetracker.dto.EventResponse;
+import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.event.CommentAddedEvent;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.repository.IssueEventRepository;
+import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.service.IssueStreamService;
+import com.publicissuetracker.stream.StreamSubscriber;
+import com.publicissuetracker.stream.StreamSubscriber.Frame;
+import com.publicissuetracker.util.KeysetCursor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed issue changes to /issues/stream clients.
+ *
+ * Each change is rendered to an SSE frame once and offered to every matching subscriber's bounded
+ * buffer; a pool of writerThreads does the socket writes (and the replays), so thousands of idle
+ * streams cost no threads and a client that stops reading fills its own buffer and is then
+ * disconnected. The writes block, though: a client whose socket buffer is full holds a writer until
+ * the container's write timeout (server.tomcat.connection-timeout) fails the write. With
+ * writerThreads such clients stalled at once every other stream waits too, so keep the pool above
+ * the number of clients expected to stall together.
+ * Heartbeat comments keep proxies from closing idle streams. A reconnecting client sends the
+ * last SSE id it saw and gets the issue_events recorded after it replayed first; if more than
+ * replayLimit were missed (or the id is older than the archiver's hot window) it gets a "reset"
+ * event instead and should reload.
+ *
+ * An event's created_at is stamped before its transaction commits, so an event can commit (and
+ * go out live) after a later-stamped one the client already has. The replay therefore starts
+ * replayOverlapMillis before the client's last id and resends that window: clients must drop
+ * events whose id they have seen. The replay query runs on the primary: an event a lagging replica
+ * hasn't got yet, committed before the subscriber was registered, would be neither replayed nor
+ * pushed live. A transaction that takes longer than the overlap to commit can
+ * still be missed on resume, and so can, with events.sink.mode=async, a change whose
+ * issue_events row is written after the replay query.
+ */
+@Service
+public class IssueStreamServiceImpl implements IssueStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueStreamServiceImpl.class);
+
+    static final String EVENT_NAME = "issue-event";
+    private static final Frame HEARTBEAT = new Frame(null, ":keep-alive\n\n");
+    private static final Frame RESET = new Frame(null, "event:reset\ndata:{}\n\n");
+
+    private final IssueEventRepository eventRepository;
+    private final IssueEventArchiver archiver;
+    private final IssueService issueService;
+    private final ObjectMapper mapper;
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int replayLimit;
+    private final long replayOverlapMillis;
+
+    public IssueStreamServiceImpl(IssueEventRepository eventRepository,
+                                  IssueEventArchiver archiver,
+                                  IssueService issueService,
+                                  ObjectMapper mapper,
+                                  @Value("${stream.writerThreads:16}") int writerThreads,
+                                  @Value("${stream.bufferSize:256}") int bufferSize,
+                                  @Value("${stream.timeoutMillis:1800000}") long timeoutMillis,
+                                  @Value("${stream.replayLimit:1000}") int replayLimit,
+                                  @Value("${stream.replayOverlapMillis:5000}") long replayOverlapMillis) {
+        this.eventRepository = eventRepository;
+        this.archiver = archiver;
+        this.issueService = issueService;
+        this.mapper = mapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.replayLimit = replayLimit;
+        this.replayOverlapMillis = replayOverlapMillis;
+        AtomicInteger n = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "issue-stream-writer-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(String issueId, String reporterId, String assigneeId, String lastEventId) {
+        KeysetCursor resumeAfter = lastEventId == null || lastEventId.isBlank() ? null : KeysetCursor.decode(lastEventId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        StreamSubscriber sub = new StreamSubscriber(emitter, blankToNull(issueId), blankToNull(reporterId),
+                blankToNull(assigneeId), bufferSize, writers);
+        emitter.onCompletion(() -> drop(sub));
+        emitter.onTimeout(() -> drop(sub));
+        emitter.onError(e -> drop(sub));
+        // registered before the replay query, so nothing committed in between is missed
+        subscribers.add(sub);
+        writers.execute(() -> replay(sub, resumeAfter));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        publish(ev.getAuditEvent(), ev.getCreatedById(), ev.getAssignedToId(), ev.getPreviousAssignedToId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent ev) {
+        if (subscribers.isEmpty()) return;
+        String reporterId = null;
+        String assigneeId = null;
+        // only reporter/assignee filters need the issue's owners (usually a cache hit)
+        if (subscribers.stream().anyMatch(StreamSubscriber::needsOwner)) {
+            Optional<IssueResponse> issue = issueService.findById(ev.getIssueId());
+            if (issue.isPresent()) {
+                reporterId = issue.get().createdById;
+                assigneeId = issue.get().assignedToId;
+            }
+        }
+        publish(ev.getAuditEvent(), reporterId, assigneeId, null);
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeatMillis:15000}")
+    public void heartbeat() {
+        for (StreamSubscriber sub : subscribers) {
+            if (!sub.offer(HEARTBEAT)) drop(sub);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (StreamSubscriber sub : subscribers) drop(sub);
+        writers.shutdown();
+    }
+
+    // previousAssigneeId: an assignment is also sent to streams following the old assignee
+    private void publish(IssueEvent event, String reporterId, String assigneeId, String previousAssigneeId) {
+        if (event == null || subscribers.isEmpty()) return;
+        Frame frame = null;
+        for (StreamSubscriber sub : subscribers) {
+            if (!sub.matches(event.getIssueId(), reporterId, assigneeId)
+                    && (previousAssigneeId == null || !sub.matches(event.getIssueId(), reporterId, previousAssigneeId))) {
+                continue;
+            }
+            if (frame == null) {
+                frame = render(event);
+                if (frame == null) return;
+            }
+            if (!sub.offer(frame)) {
+                if (!sub.isClosed()) log.info("Closing issue stream that fell {} events behind", bufferSize);
+                drop(sub);
+            }
+        }
+    }
+
+    private void replay(StreamSubscriber sub, KeysetCursor after) {
+        Set<String> replayed = new HashSet<>();
+        try {
+            sub.sendReplayed(HEARTBEAT); // flushes the response headers right away
+            if (after == null) return;
+            // from before the last id: events stamped earlier may have committed after it
+            Instant from = after.getCreatedAt().minusMillis(replayOverlapMillis);
+            if (from.isBefore(archiver.hotSince())) {
+                sub.sendReplayed(RESET); // its events may be archived already
+                return;
+            }
+            List<IssueEvent> missed = ReplicaRoutingDataSource.onPrimary(() -> eventRepository.findStreamAfter(
+                    sub.getIssueId(), sub.getReporterId(), sub.getAssigneeId(), from, "", PageRequest.of(0, replayLimit + 1)));
+            if (missed.size() > replayLimit) {
+                sub.sendReplayed(RESET);
+                return;
+            }
+            for (IssueEvent e : missed) {
+                if (e.getId().equals(after.getId())) continue; // the one the client has for sure
+                Frame frame = render(e);
+                if (frame == null) continue;
+                sub.sendReplayed(frame);
+                replayed.add(e.getId());
+            }
+        } catch (Exception e) {
+            log.debug("Issue stream replay failed: {}", e.getMessage());
+            drop(sub);
+        } finally {
+            sub.replayDone(replayed);
+        }
+    }
+
+    private void drop(StreamSubscriber sub) {
+        subscribers.remove(sub);
+        sub.close();
+    }
+
+    private Frame render(IssueEvent e) {
+        try {
+            String json = mapper.writeValueAsString(toResponse(e));
+            String id = KeysetCursor.encode(e.getCreatedAt(), e.getId());
+            return new Frame(e.getId(), "id:" + id + "\nevent:" + EVENT_NAME + "\ndata:" + json + "\n\n");
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not render issue event {} for streaming: {}", e.getId(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private static EventResponse toResponse(IssueEvent e) {
+        EventResponse er = new EventResponse();
+        er.id = e.getId();
+        er.issueId = e.getIssueId();
+        er.type = e.getType();
+        er.actorId = e.getActorId();
+        er.fromStatus = e.getFromStatus();
+        er.toStatus = e.getToStatus();
+        er.note = e.getNote();
+        er.createdAt = e.getCreatedAt();
+        return er;
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
+}
@@ -4,6 +4,7 @@ import com.publicissuetracker.model.RefreshToken;
 import com.publicissuetracker.model.User;
 import com.publicissuetracker.repository.RefreshTokenRepository;
 import com.publicissuetracker.service.RefreshTokenService;
+import com.publicissuetracker.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,12 +19,15 @@ import java.util.Optional;
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
     private final long refreshExpirationMs;
     private final SecureRandom secureRandom = new SecureRandom();
 
     public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserService userService,
                                    @Value("${jwt.refreshExpiration}") long refreshExpirationMs) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
         this.refreshExpirationMs = refreshExpirationMs;
     }
 
@@ -60,5 +64,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                     rt.setRevoked(true);
                     refreshTokenRepository.save(rt);
                 });
+        // and the access tokens already handed out
+        userService.revokeAccessTokens(user.getId());
     }
 }
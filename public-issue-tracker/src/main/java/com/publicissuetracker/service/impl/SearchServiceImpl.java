@@ -0,0 +1,342 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.dto.SearchHitResponse;
+import com.publicissuetracker.event.CommentAddedEvent;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.model.IssueComment;
+import com.publicissuetracker.repository.IssueCommentRepository;
+import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.repository.IssueTextView;
+import com.publicissuetracker.search.InvertedIndex;
+import com.publicissuetracker.search.SegmentStore;
+import com.publicissuetracker.search.Tokenizer;
+import com.publicissuetracker.search.Watermark;
+import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.service.SearchService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Full-text search over issue titles, descriptions and comments.
+ *
+ * - one InvertedIndex document per issue; comments are merged into their issue's document
+ * - every indexed row is also appended to a SegmentStore on local disk, so a restart replays
+ *   the segments and then only catches up on rows created since the saved watermarks
+ * - kept current after commit from IssueChangedEvent (CREATED) and CommentAddedEvent
+ *
+ * Live writers are serialized on writeLock so the index, the watermarks and the segment files
+ * always describe the same set of rows. While the startup load or a rebuild runs, that thread
+ * owns them and works without writeLock (its database scan can take minutes); live rows only
+ * queue up under the lock meanwhile and are indexed when it finishes. A rebuild fills a new
+ * InvertedIndex, swapped in under writeLock when it is complete, so queries keep getting full
+ * results from the old one meanwhile (a failed rebuild keeps the old one). Queries only take the
+ * index's own read lock.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    static final int DEFAULT_RESULTS = 20;
+    static final int MAX_RESULTS = 100;
+    static final int TITLE_WEIGHT = 2;
+    private static final int BATCH = 1000;
+    private static final int COMPACT_CHECK_EVERY = 1000;
+
+    private final IssueRepository issueRepository;
+    private final IssueCommentRepository commentRepository;
+    private final IssueService issueService;
+    private final int compactAfterSegments;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    // the index a rebuild is filling (owned by the rebuilding thread); queries keep using index
+    // until finish() swaps it in
+    private InvertedIndex building;
+    private final SegmentStore store;
+    private final Watermark issueMark = new Watermark();
+    private final Watermark commentMark = new Watermark();
+
+    private final Object writeLock = new Object();
+    // held for the whole startup load or rebuild, so only one runs at a time
+    private final Object rebuildLock = new Object();
+    // while a load or rebuild runs: live rows that arrived meanwhile (both guarded by writeLock)
+    private final List<SegmentStore.Record> pending = new ArrayList<>();
+    private boolean buffering = true;
+    private int appendsSinceCheck = 0;
+
+    public SearchServiceImpl(IssueRepository issueRepository,
+                             IssueCommentRepository commentRepository,
+                             IssueService issueService,
+                             @Value("${search.index.dir:./data/search-index}") String dir,
+                             @Value("${search.index.segmentBytes:8388608}") long segmentBytes,
+                             @Value("${search.index.compactAfterSegments:8}") int compactAfterSegments) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.issueService = issueService;
+        this.compactAfterSegments = compactAfterSegments;
+        this.store = new SegmentStore(Paths.get(dir), segmentBytes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            // buffering starts out true: live rows queue up until the load is done
+            Set<String> caughtUp = null;
+            try {
+                caughtUp = load();
+            } catch (Exception e) {
+                // search degrades to "no hits" rather than failing startup
+                log.warn("Could not load search index at startup: {}", e.getMessage());
+            } finally {
+                finish(caughtUp);
+            }
+            if (caughtUp != null) {
+                log.info("Search index loaded with {} issues in {} ms", index.size(), System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                buffering = true;
+            }
+            Set<String> indexed = null;
+            try {
+                indexed = rebuildIndex();
+            } finally {
+                finish(indexed);
+            }
+        }
+        log.info("Search index rebuilt with {} issues in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        // title/description are only written at creation; status changes don't affect the text
+        if (!IssueChangedEvent.CREATED.equals(ev.getChangeType())) return;
+        Map<String, Integer> terms = Tokenizer.termFrequencies(ev.getTitle(), TITLE_WEIGHT, null);
+        Tokenizer.termFrequencies(ev.getDescription(), 1, terms);
+        indexLive(new SegmentStore.Record(SegmentStore.KIND_ISSUE, ev.getIssueId(), ev.getIssueId(),
+                ev.getCreatedAt(), terms));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent ev) {
+        indexLive(new SegmentStore.Record(SegmentStore.KIND_COMMENT, ev.getCommentId(), ev.getIssueId(),
+                ev.getCreatedAt(), Tokenizer.termFrequencies(ev.getMessage(), 1, null)));
+    }
+
+    @Override
+    public List<SearchHitResponse> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        int k = limit <= 0 ? DEFAULT_RESULTS : Math.min(limit, MAX_RESULTS);
+
+        List<String> exact = new ArrayList<>();
+        List<String> prefix = new ArrayList<>();
+        String[] words = query.trim().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            boolean asPrefix = words[i].endsWith("*") || i == words.length - 1;
+            List<String> terms = Tokenizer.tokenize(words[i]);
+            for (int j = 0; j < terms.size(); j++) {
+                if (asPrefix && j == terms.size() - 1) prefix.add(terms.get(j));
+                else exact.add(terms.get(j));
+            }
+        }
+        if (exact.isEmpty() && prefix.isEmpty()) return new ArrayList<>();
+
+        List<InvertedIndex.Hit> hits = index.search(exact, prefix, k);
+        List<String> ids = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit h : hits) ids.add(h.key);
+        Map<String, IssueResponse> issues = new HashMap<>();
+        for (IssueResponse r : issueService.findByIds(ids)) issues.put(r.id, r);
+
+        List<SearchHitResponse> out = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit h : hits) {
+            IssueResponse issue = issues.get(h.key);
+            if (issue == null) continue;
+            SearchHitResponse r = new SearchHitResponse();
+            r.score = h.score;
+            r.issue = issue;
+            out.add(r);
+        }
+        return out;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                store.close();
+            }
+        }
+    }
+
+    // --- internals (callers hold writeLock, or rebuildLock while buffering) ---
+
+    /**
+     * Replay the on-disk segments (or build from scratch if there are none / they are unreadable),
+     * then index rows created since the watermarks. Returns the source ids indexed by the catch-up.
+     */
+    private Set<String> load() {
+        if (store.isEmpty()) return rebuildIndex();
+        try {
+            store.replay(index::add, this::apply, issueMark, commentMark);
+        } catch (RuntimeException e) {
+            log.warn("Search segments unreadable, rebuilding from the database: {}", e.getMessage());
+            return rebuildIndex();
+        }
+        Set<String> caughtUp = catchUp(true);
+        if (store.segmentCount() > compactAfterSegments) compact();
+        return caughtUp;
+    }
+
+    private Set<String> rebuildIndex() {
+        building = new InvertedIndex();
+        issueMark.reset();
+        commentMark.reset();
+        store.reset();
+        // no log records for a full build: the snapshot written by compact() holds everything
+        Set<String> indexed = catchUp(false);
+        compact();
+        return indexed;
+    }
+
+    /**
+     * Walk issues, then comments, from their watermark onwards in (createdAt, id) order,
+     * skipping rows the watermark already covers.
+     */
+    private Set<String> catchUp(boolean append) {
+        Set<String> indexed = new HashSet<>();
+
+        Instant since = issueMark.getTs() != null ? issueMark.getTs() : Instant.EPOCH;
+        String afterId = "";
+        while (true) {
+            List<IssueTextView> batch = issueRepository.findTextSince(since, afterId, PageRequest.of(0, BATCH));
+            for (IssueTextView v : batch) {
+                if (issueMark.covers(v.getCreatedAt(), v.getId())) continue;
+                Map<String, Integer> terms = Tokenizer.termFrequencies(v.getTitle(), TITLE_WEIGHT, null);
+                Tokenizer.termFrequencies(v.getDescription(), 1, terms);
+                SegmentStore.Record r = new SegmentStore.Record(SegmentStore.KIND_ISSUE, v.getId(), v.getId(),
+                        v.getCreatedAt(), terms);
+                if (append) indexAndAppend(r); else apply(r);
+                indexed.add(v.getId());
+            }
+            if (batch.size() < BATCH) break;
+            IssueTextView last = batch.get(batch.size() - 1);
+            since = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        since = commentMark.getTs() != null ? commentMark.getTs() : Instant.EPOCH;
+        afterId = "";
+        while (true) {
+            List<IssueComment> batch = commentRepository.findCreatedSince(since, afterId, PageRequest.of(0, BATCH));
+            for (IssueComment c : batch) {
+                if (commentMark.covers(c.getCreatedAt(), c.getId())) continue;
+                SegmentStore.Record r = new SegmentStore.Record(SegmentStore.KIND_COMMENT, c.getId(), c.getIssueId(),
+                        c.getCreatedAt(), Tokenizer.termFrequencies(c.getMessage(), 1, null));
+                if (append) indexAndAppend(r); else apply(r);
+                indexed.add(c.getId());
+            }
+            if (batch.size() < BATCH) break;
+            IssueComment last = batch.get(batch.size() - 1);
+            since = last.getCreatedAt();
+            afterId = last.getId();
+        }
+        return indexed;
+    }
+
+    private void indexLive(SegmentStore.Record r) {
+        synchronized (writeLock) {
+            if (buffering) {
+                pending.add(r);
+                return;
+            }
+            indexSafely(r);
+        }
+    }
+
+    // end of a load / rebuild (caughtUp is null if it failed): swap in the rebuilt index, then
+    // index the live rows it did not already pick up from the database
+    private void finish(Set<String> caughtUp) {
+        synchronized (writeLock) {
+            try {
+                if (building != null) {
+                    if (caughtUp != null) {
+                        index = building;
+                    } else {
+                        log.warn("Search rebuild failed; serving the previous index, its segments on disk are "
+                                + "incomplete until a rebuild succeeds");
+                    }
+                    building = null;
+                }
+                for (SegmentStore.Record r : pending) {
+                    if (caughtUp == null || !caughtUp.contains(r.sourceId)) indexSafely(r);
+                }
+            } finally {
+                pending.clear();
+                buffering = false;
+            }
+        }
+    }
+
+    // where rows go: the index being rebuilt, if any
+    private InvertedIndex target() {
+        return building != null ? building : index;
+    }
+
+    private void indexSafely(SegmentStore.Record r) {
+        try {
+            indexAndAppend(r);
+        } catch (RuntimeException e) {
+            // the row is searchable now; a restart's catch-up or an admin rebuild restores it on disk
+            log.warn("Could not persist search update for {}: {}", r.sourceId, e.getMessage());
+        }
+    }
+
+    private void indexAndAppend(SegmentStore.Record r) {
+        apply(r);
+        store.append(r);
+        if (++appendsSinceCheck >= COMPACT_CHECK_EVERY) {
+            appendsSinceCheck = 0;
+            if (store.segmentCount() > compactAfterSegments) compact();
+        }
+    }
+
+    private void apply(SegmentStore.Record r) {
+        target().add(r.issueId, r.terms);
+        (r.kind == SegmentStore.KIND_COMMENT ? commentMark : issueMark).observe(r.ts, r.sourceId);
+    }
+
+    private void compact() {
+        store.compact(target()::forEachDocument, issueMark, commentMark);
+    }
+}
@@ -0,0 +1,144 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.dto.IssueMarkerResponse;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.event.SpatialIndexRebuiltEvent;
+import com.publicissuetracker.geo.IssueGridIndex;
+import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.service.SpatialIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps an IssueGridIndex in sync with the issues table.
+ *
+ * - rebuilt from the DB once the application is ready (batched projection query)
+ * - updated after commit from IssueChangedEvent published by IssueServiceImpl
+ *
+ * A rebuild fills a fresh index and swaps it in when done, so queries keep using the old one for
+ * the whole scan. Changes that arrive meanwhile go to the old index and are queued; they are
+ * replayed onto the new index right before the swap, so they win over the (possibly older) rows
+ * the scan read. Before the first build the index is empty. Each swap publishes a
+ * SpatialIndexRebuiltEvent.
+ */
+@Service
+public class SpatialIndexServiceImpl implements SpatialIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpatialIndexServiceImpl.class);
+
+    static final int MAX_RESULTS = 5000;
+    private static final int REBUILD_BATCH = 5000;
+
+    private final IssueRepository issueRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double cellSizeDeg;
+    private volatile IssueGridIndex index;
+
+    private final Object writeLock = new Object();
+    // held for the whole rebuild, so only one runs at a time
+    private final Object rebuildLock = new Object();
+    // changes to replay onto the index being built; null when no build runs (guarded by writeLock).
+    // Starts non-null: changes committed before the startup build begins must not be lost
+    private List<IssueChangedEvent> pending = new ArrayList<>();
+
+    public SpatialIndexServiceImpl(IssueRepository issueRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${map.index.cellSizeDeg:0.01}") double cellSizeDeg) {
+        this.issueRepository = issueRepository;
+        this.eventPublisher = eventPublisher;
+        this.cellSizeDeg = cellSizeDeg;
+        this.index = new IssueGridIndex(cellSizeDeg);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // the map endpoint degrades to "empty" rather than failing startup
+            log.warn("Could not build spatial index at startup: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                if (pending == null) pending = new ArrayList<>();
+            }
+            IssueGridIndex fresh = null;
+            try {
+                IssueGridIndex building = new IssueGridIndex(cellSizeDeg);
+                issueRepository.forEachLocated(REBUILD_BATCH, v ->
+                        building.upsert(v.getId(), v.getLatitude(), v.getLongitude(), v.getStatus(), v.getCategory()));
+                fresh = building;
+            } finally {
+                // on failure the old index stays, kept current by the live changes
+                synchronized (writeLock) {
+                    if (fresh != null) {
+                        for (IssueChangedEvent ev : pending) apply(fresh, ev);
+                        index = fresh;
+                    }
+                    pending = null;
+                }
+            }
+        }
+        int size = index.size();
+        log.info("Spatial index built with {} issues in {} ms", size, System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new SpatialIndexRebuiltEvent(size));
+    }
+
+    // runs before listeners that read from this index (e.g. tile cache invalidation)
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        synchronized (writeLock) {
+            apply(index, ev);
+            if (pending != null) pending.add(ev);
+        }
+    }
+
+    private static void apply(IssueGridIndex target, IssueChangedEvent ev) {
+        if (ev.hasLocation()) {
+            target.upsert(ev.getIssueId(), ev.getLatitude(), ev.getLongitude(), ev.getStatus(), ev.getCategory());
+        } else {
+            target.remove(ev.getIssueId());
+        }
+    }
+
+    @Override
+    public List<IssueMarkerResponse> findWithin(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        IssueGridIndex index = this.index;
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat) {
+            throw new IllegalArgumentException("Latitude range must satisfy -90 <= minLat <= maxLat <= 90");
+        }
+        if (minLng < -180 || minLng > 180 || maxLng < -180 || maxLng > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        int max = limit <= 0 ? MAX_RESULTS : Math.min(limit, MAX_RESULTS);
+
+        if (minLng <= maxLng) {
+            return index.query(minLat, minLng, maxLat, maxLng, max);
+        }
+        // antimeridian crossing: [minLng, 180] + [-180, maxLng]
+        List<IssueMarkerResponse> out = index.query(minLat, minLng, maxLat, 180.0, max);
+        out.addAll(index.query(minLat, -180.0, maxLat, maxLng, max - out.size()));
+        return out;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+}
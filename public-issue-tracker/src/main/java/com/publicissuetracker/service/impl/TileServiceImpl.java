@@ -0,0 +1,140 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.dto.IssueMarkerResponse;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.event.SpatialIndexRebuiltEvent;
+import com.publicissuetracker.geo.MarkerTileEncoder;
+import com.publicissuetracker.geo.WebMercator;
+import com.publicissuetracker.service.SpatialIndexService;
+import com.publicissuetracker.service.TileService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Builds binary marker tiles from the in-memory spatial index and keeps them in a bounded LRU cache.
+ *
+ * When an issue changes, only the tiles containing it (one per served zoom level) are evicted.
+ * A generation counter stops a tile that was being built concurrently with a change from being
+ * cached with stale content. A rebuild of the spatial index drops every cached tile; until the
+ * first build is done, tiles are served (empty) but not cached.
+ */
+@Service
+public class TileServiceImpl implements TileService {
+
+    static final int MAX_ZOOM = 22;
+    private static final int MAX_MARKERS_PER_TILE = 5000;
+
+    private final SpatialIndexService spatialIndexService;
+    private final int minZoom;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, byte[]> cache;
+    private volatile boolean indexReady;
+
+    public TileServiceImpl(SpatialIndexService spatialIndexService,
+                           @Value("${map.tiles.minZoom:10}") int minZoom,
+                           @Value("${map.tiles.cacheSize:10000}") int cacheSize) {
+        this.spatialIndexService = spatialIndexService;
+        this.minZoom = minZoom;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public int getMinZoom() {
+        return minZoom;
+    }
+
+    @Override
+    public byte[] getTile(int z, int x, int y) {
+        if (z < minZoom || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("Tiles are served for zoom " + minZoom + "-" + MAX_ZOOM
+                    + "; use /api/v1/issues/clusters below that");
+        }
+        int n = 1 << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Tile x/y out of range for zoom " + z);
+        }
+
+        long key = tileKey(z, x, y);
+        synchronized (cache) {
+            byte[] cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+
+        long gen = generation.get();
+        boolean cacheable = indexReady;
+        byte[] tile = buildTile(z, x, y);
+        synchronized (cache) {
+            if (cacheable && generation.get() == gen) {
+                cache.put(key, tile);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Runs after the spatial index listener (@Order(0)) so rebuilt tiles see the new state.
+     */
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        generation.incrementAndGet();
+        if (!ev.hasLocation()) return;
+        double mx = WebMercator.x(ev.getLongitude());
+        double my = WebMercator.y(ev.getLatitude());
+        synchronized (cache) {
+            for (int z = minZoom; z <= MAX_ZOOM; z++) {
+                int n = 1 << z;
+                cache.remove(tileKey(z, (int) (mx * n), (int) (my * n)));
+            }
+        }
+    }
+
+    /**
+     * Tiles cached from the replaced index may be missing issues or show them in an old state;
+     * the generation bump keeps tiles still being built from it out of the cache.
+     */
+    @EventListener
+    public void onSpatialIndexRebuilt(SpatialIndexRebuiltEvent ev) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+            indexReady = true;
+        }
+    }
+
+    private byte[] buildTile(int z, int x, int y) {
+        double west = WebMercator.tileToLng(x, z);
+        double east = WebMercator.tileToLng(x + 1, z);
+        double north = WebMercator.tileToLat(y, z);
+        double south = WebMercator.tileToLat(y + 1, z);
+        int n = 1 << z;
+
+        // bbox edges are inclusive: keep only markers whose tile is exactly this one
+        List<IssueMarkerResponse> markers = spatialIndexService
+                .findWithin(south, west, north, east, MAX_MARKERS_PER_TILE)
+                .stream()
+                .filter(m -> (int) (WebMercator.x(m.longitude) * n) == x
+                        && (int) (WebMercator.y(m.latitude) * n) == y)
+                .collect(Collectors.toList());
+        return MarkerTileEncoder.encode(z, x, y, markers);
+    }
+
+    private static long tileKey(int z, int x, int y) {
+        // z <= 22 fits in 5 bits, x and y in 22 bits each
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+}
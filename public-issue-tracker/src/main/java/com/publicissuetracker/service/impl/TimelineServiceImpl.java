@@ -0,0 +1,128 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.archive.IssueEventStore;
+import com.publicissuetracker.dto.TimelineItemResponse;
+import com.publicissuetracker.dto.TimelinePageResponse;
+import com.publicissuetracker.model.IssueComment;
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.model.User;
+import com.publicissuetracker.repository.IssueCommentRepository;
+import com.publicissuetracker.repository.UserRepository;
+import com.publicissuetracker.service.TimelineService;
+import com.publicissuetracker.util.KeysetCursor;
+import com.publicissuetracker.util.KeysetWindow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Merges the two per-issue keyset scans (events via IssueEventStore, comments from issue_comments,
+ * both ordered by createdAt, id) into one timeline. Each page runs one seek per source for
+ * pageSize + 1 rows in the direction of travel, merges the two sorted runs and keeps the first pageSize + 1,
+ * so the cursor of the last row returned is a valid seek position for both sources. Actor names
+ * for the whole page are resolved with a single findAllById.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TimelineServiceImpl implements TimelineService {
+
+    // these rows duplicate an issue_comments row (note = comment text)
+    private static final String COMMENT_EVENT = "COMMENT";
+
+    private static final Comparator<TimelineItemResponse> OLDEST_FIRST =
+            Comparator.comparing((TimelineItemResponse t) -> t.createdAt).thenComparing(t -> t.id);
+
+    private final IssueEventStore eventStore;
+    private final IssueCommentRepository commentRepository;
+    private final UserRepository userRepository;
+
+    public TimelineServiceImpl(IssueEventStore eventStore,
+                               IssueCommentRepository commentRepository,
+                               UserRepository userRepository) {
+        this.eventStore = eventStore;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public TimelinePageResponse<TimelineItemResponse> listTimeline(String issueId, String before, String after, int limit) {
+        return KeysetWindow.page(before, after, limit,
+                window -> merge(eventStore.findNewestByIssue(issueId, COMMENT_EVENT, window),
+                        commentRepository.findNewestByIssue(issueId, window),
+                        OLDEST_FIRST.reversed(), window),
+                (c, window) -> merge(
+                        eventStore.findByIssueBefore(issueId, COMMENT_EVENT, c.getCreatedAt(), c.getId(), window),
+                        commentRepository.findByIssueBefore(issueId, c.getCreatedAt(), c.getId(), window),
+                        OLDEST_FIRST.reversed(), window),
+                (c, window) -> merge(
+                        eventStore.findByIssueAfter(issueId, COMMENT_EVENT, c.getCreatedAt(), c.getId(), window),
+                        commentRepository.findByIssueAfter(issueId, c.getCreatedAt(), c.getId(), window),
+                        OLDEST_FIRST, window),
+                t -> new KeysetCursor(t.createdAt, t.id),
+                this::withActorNames);
+    }
+
+    // two-way merge of runs already sorted by order, cut to the window size
+    private static List<TimelineItemResponse> merge(List<IssueEvent> events, List<IssueComment> comments,
+                                                    Comparator<TimelineItemResponse> order, Pageable window) {
+        int max = window.getPageSize();
+        List<TimelineItemResponse> out = new ArrayList<>(Math.min(max, events.size() + comments.size()));
+        int e = 0;
+        int c = 0;
+        TimelineItemResponse nextEvent = e < events.size() ? toItem(events.get(e)) : null;
+        TimelineItemResponse nextComment = c < comments.size() ? toItem(comments.get(c)) : null;
+        while (out.size() < max && (nextEvent != null || nextComment != null)) {
+            if (nextComment == null || (nextEvent != null && order.compare(nextEvent, nextComment) <= 0)) {
+                out.add(nextEvent);
+                nextEvent = ++e < events.size() ? toItem(events.get(e)) : null;
+            } else {
+                out.add(nextComment);
+                nextComment = ++c < comments.size() ? toItem(comments.get(c)) : null;
+            }
+        }
+        return out;
+    }
+
+    private List<TimelineItemResponse> withActorNames(List<TimelineItemResponse> items) {
+        Set<String> actorIds = new HashSet<>();
+        for (TimelineItemResponse t : items) {
+            if (t.actorId != null) actorIds.add(t.actorId);
+        }
+        if (!actorIds.isEmpty()) {
+            Map<String, String> names = new HashMap<>();
+            for (User u : userRepository.findAllById(actorIds)) names.put(u.getId(), u.getName());
+            for (TimelineItemResponse t : items) {
+                if (t.actorId != null) t.actorName = names.get(t.actorId);
+            }
+        }
+        return items;
+    }
+
+    private static TimelineItemResponse toItem(IssueEvent e) {
+        TimelineItemResponse t = new TimelineItemResponse();
+        t.kind = "EVENT";
+        t.id = e.getId();
+        t.issueId = e.getIssueId();
+        t.type = e.getType();
+        t.actorId = e.getActorId();
+        t.fromStatus = e.getFromStatus();
+        t.toStatus = e.getToStatus();
+        t.note = e.getNote();
+        t.createdAt = e.getCreatedAt();
+        return t;
+    }
+
+    private static TimelineItemResponse toItem(IssueComment c) {
+        TimelineItemResponse t = new TimelineItemResponse();
+        t.kind = "COMMENT";
+        t.id = c.getId();
+        t.issueId = c.getIssueId();
+        t.type = "COMMENT";
+        t.actorId = c.getAuthorId();
+        t.message = c.getMessage();
+        t.createdAt = c.getCreatedAt();
+        return t;
+    }
+}
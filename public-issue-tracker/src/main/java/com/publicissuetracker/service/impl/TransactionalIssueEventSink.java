@@ -0,0 +1,34 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.service.IssueEventSink;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * events.sink.mode=sync: events are persisted in the caller's transaction and written at its
+ * flush, batched with the transaction's other inserts (hibernate.jdbc.batch_size). persist() rather
+ * than repository.save(): the id is pre-assigned, so save() would merge and SELECT the row first.
+ */
+@Component
+@ConditionalOnProperty(name = "events.sink.mode", havingValue = "sync", matchIfMissing = true)
+public class TransactionalIssueEventSink implements IssueEventSink {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(IssueEvent event) {
+        em.persist(event);
+    }
+
+    @Override
+    public boolean isPending(String issueId) {
+        return false;
+    }
+}
@@ -0,0 +1,163 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.dto.TrendingIssueResponse;
+import com.publicissuetracker.event.CommentAddedEvent;
+import com.publicissuetracker.event.IssueChangedEvent;
+import com.publicissuetracker.repository.IssueEventRepository;
+import com.publicissuetracker.repository.IssueVoteRepository;
+import com.publicissuetracker.service.IssueService;
+import com.publicissuetracker.service.TrendingService;
+import com.publicissuetracker.trending.TrendingIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the trending ranking (TrendingIndex) current from committed issue changes, comments and
+ * upvotes, and rebuilds it on startup from the last few half-lives of issue_events and issue_votes.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+    static final double WEIGHT_CREATED = 3.0;
+    static final double WEIGHT_COMMENT = 2.0;
+    static final double WEIGHT_UPVOTE = 1.0;
+    // activity older than this many half-lives (< 0.1% of its weight) is not replayed
+    private static final int REPLAY_HALF_LIVES = 10;
+    private static final double PRUNE_BELOW = 0.01;
+    private static final int REBUILD_BATCH = 5000;
+
+    private final IssueEventRepository eventRepository;
+    private final IssueVoteRepository voteRepository;
+    private final IssueService issueService;
+    private final Duration halfLife;
+    private final int size;
+    // guards swapping the index, so live activity during a rebuild is neither lost nor counted twice
+    private final Object swapLock = new Object();
+    private volatile TrendingIndex index;
+    // set while rebuild() replays the database; live activity from after the replay cutoff goes into it too
+    private TrendingIndex building;
+    private Instant buildingCutoff;
+
+    public TrendingServiceImpl(IssueEventRepository eventRepository,
+                               IssueVoteRepository voteRepository,
+                               IssueService issueService,
+                               @Value("${trending.halfLifeHours:12}") long halfLifeHours,
+                               @Value("${trending.size:100}") int size) {
+        this.eventRepository = eventRepository;
+        this.voteRepository = voteRepository;
+        this.issueService = issueService;
+        this.halfLife = Duration.ofHours(halfLifeHours);
+        this.size = size;
+        this.index = newIndex();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Could not build trending scores at startup: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Instant until = Instant.now();
+        TrendingIndex next = newIndex();
+        synchronized (swapLock) {
+            buildingCutoff = until;
+            building = next;
+        }
+        boolean done = false;
+        try {
+            Instant since = until.minus(halfLife.multipliedBy(REPLAY_HALF_LIVES));
+            eventRepository.forEachTyped(List.of(IssueChangedEvent.CREATED, "COMMENT"), since, until, REBUILD_BATCH,
+                    row -> next.record((String) row[1], weightOf((String) row[2]), (Instant) row[3]));
+            voteRepository.forEachVote(since, until, REBUILD_BATCH,
+                    row -> next.record((String) row[1], WEIGHT_UPVOTE, (Instant) row[2]));
+            done = true;
+        } finally {
+            synchronized (swapLock) {
+                if (done) index = next;
+                building = null;
+            }
+        }
+        log.info("Trending scores rebuilt for {} issues in {} ms", next.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent ev) {
+        if (IssueChangedEvent.CREATED.equals(ev.getChangeType())) {
+            record(ev.getIssueId(), WEIGHT_CREATED, ev.getCreatedAt());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent ev) {
+        record(ev.getIssueId(), WEIGHT_COMMENT, ev.getCreatedAt());
+    }
+
+    @Override
+    public void recordUpvote(String issueId, Instant at) {
+        record(issueId, WEIGHT_UPVOTE, at);
+    }
+
+    @Override
+    public List<TrendingIssueResponse> trending(int limit) {
+        int n = Math.max(1, Math.min(limit, size));
+        List<TrendingIndex.Ranked> ranked = index.top(n, Instant.now());
+        Map<String, IssueResponse> issues = issueService.findByIds(ranked.stream().map(r -> r.id).toList())
+                .stream().collect(Collectors.toMap(i -> i.id, Function.identity()));
+        List<TrendingIssueResponse> out = new ArrayList<>(ranked.size());
+        for (TrendingIndex.Ranked r : ranked) {
+            IssueResponse issue = issues.get(r.id);
+            if (issue == null) continue; // deleted since
+            TrendingIssueResponse t = new TrendingIssueResponse();
+            t.score = r.score;
+            t.issue = issue;
+            out.add(t);
+        }
+        return out;
+    }
+
+    @Scheduled(fixedDelayString = "${trending.pruneMillis:3600000}")
+    public void prune() {
+        int removed = index.prune(PRUNE_BELOW, Instant.now());
+        if (removed > 0) log.debug("Pruned {} cold issues from trending", removed);
+    }
+
+    private void record(String issueId, double weight, Instant at) {
+        Instant ts = at != null ? at : Instant.now();
+        synchronized (swapLock) {
+            index.record(issueId, weight, ts);
+            // activity before the cutoff is read from the database by the replay
+            if (building != null && !ts.isBefore(buildingCutoff)) building.record(issueId, weight, ts);
+        }
+    }
+
+    private TrendingIndex newIndex() {
+        return new TrendingIndex(halfLife, size, Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    private static double weightOf(String eventType) {
+        return IssueChangedEvent.CREATED.equals(eventType) ? WEIGHT_CREATED : WEIGHT_COMMENT;
+    }
+}
@@ -1,20 +1,34 @@
 package com.publicissuetracker.service.impl;
 
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.datasource.ReplicaRoutingDataSource;
 import com.publicissuetracker.dto.UserLoginRequest;
 import com.publicissuetracker.dto.UserResponse;
 import com.publicissuetracker.dto.UserSignupRequest;
 import com.publicissuetracker.model.User;
 import com.publicissuetracker.repository.UserRepository;
+import com.publicissuetracker.security.PasswordHasher;
+import com.publicissuetracker.security.PasswordHashingBusyException;
+import com.publicissuetracker.security.UserSnapshot;
 import com.publicissuetracker.service.UserService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Simple UserService implementation.
- * - Uses BCrypt to hash passwords (injected bean).
+ * - Hashes and checks passwords with BCrypt on PasswordHasher's bounded pool (429 when it is
+ *   saturated), outside any transaction so no connection is held while waiting.
  * - Uses UserRepository to save / lookup users.
  *
  * We keep things intentionally simple for now; later we'll add token generation (JWT),
@@ -24,15 +38,20 @@ import java.util.Optional;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    static final Set<String> ROLES = Set.of("CITIZEN", "ADMIN");
+
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final Cache userCache;
 
-    public UserServiceImpl(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, CacheManager cacheManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.userCache = cacheManager.getCache(CacheConfig.USERS);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse signup(UserSignupRequest req) {
         // 1) check if email already used
         if (userRepository.existsByEmail(req.email)) {
@@ -40,7 +59,7 @@ public class UserServiceImpl implements UserService {
         }
 
         // 2) hash the password
-        String hashed = passwordEncoder.encode(req.password);
+        String hashed = passwordHasher.hash(req.password);
 
         // 3) create entity and save
         User user = new User(req.name, req.email, hashed, "CITIZEN"); // default role CITIZEN
@@ -51,6 +70,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<UserResponse> authenticate(UserLoginRequest req) {
         Optional<User> maybe = userRepository.findByEmail(req.email);
         if (maybe.isEmpty()) {
@@ -58,9 +78,17 @@ public class UserServiceImpl implements UserService {
         }
         User user = maybe.get();
         // check password
-        if (!passwordEncoder.matches(req.password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(req.password, user.getPasswordHash())) {
             return Optional.empty();
         }
+        // the configured cost factor went up since this hash was made: replace it while we have the password
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            try {
+                userRepository.updatePasswordHash(user.getId(), user.getPasswordHash(), passwordHasher.hash(req.password));
+            } catch (PasswordHashingBusyException busy) {
+                // the login itself succeeded; rehash on a later one
+            }
+        }
         return Optional.of(toResponse(user));
     }
 
@@ -70,6 +98,52 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(userId).map(this::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId", unless = "#result == null")
+    public Optional<UserSnapshot> findSnapshot(String userId) {
+        // cached for the users TTL: a lagging replica could hand back a revoked role or revocation time
+        return ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(userId).map(UserSnapshot::of));
+    }
+
+    @Override
+    public Optional<UserResponse> changeRole(String userId, String role) {
+        if (role == null || !ROLES.contains(role)) {
+            throw new IllegalArgumentException("role must be one of " + ROLES);
+        }
+        return userRepository.findById(userId).map(user -> {
+            user.setRole(role);
+            refreshAfterCommit(user);
+            return toResponse(user);
+        });
+    }
+
+    @Override
+    public void revokeAccessTokens(String userId) {
+        userRepository.findById(userId).ifPresent(user -> {
+            // compared with the token's millisecond issue time (JwtUtil.issuedAt): a token issued in
+            // this same millisecond is rejected too, whether it came just before or just after
+            user.setTokensValidAfter(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+            refreshAfterCommit(user);
+        });
+    }
+
+    // put the committed snapshot rather than evicting: the next request must not reload it from a
+    // replica that hasn't seen the change; before commit a concurrent request could cache the old one
+    private void refreshAfterCommit(User user) {
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userCache.put(snapshot.getId(), snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.put(snapshot.getId(), snapshot);
+            }
+        });
+    }
+
     // helper to convert User entity -> UserResponse DTO
     private UserResponse toResponse(User u) {
         UserResponse r = new UserResponse();
@@ -0,0 +1,155 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.dto.UpvoteResponse;
+import com.publicissuetracker.model.IssueVote;
+import com.publicissuetracker.model.User;
+import com.publicissuetracker.repository.IssueRepository;
+import com.publicissuetracker.repository.IssueVoteRepository;
+import com.publicissuetracker.service.TrendingService;
+import com.publicissuetracker.service.VoteService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Upvotes without row-lock contention on popular issues.
+ *
+ * Each vote is its own issue_votes row (the unique key makes it idempotent), so concurrent voters
+ * never touch the same row. The per-issue total is counted in a LongAdder and added to
+ * issues.upvote_count by a periodic flush: one JDBC batch of
+ * {@code UPDATE issues SET upvote_count = upvote_count + ?} per interval, whatever the vote rate.
+ *
+ * Crash safety: a clean shutdown flushes what is buffered. After a crash the buffered deltas are
+ * gone, but the vote rows are not - at startup, issues voted on since the last flush (minus a
+ * safety margin) get upvote_count recounted from issue_votes before the server takes traffic.
+ */
+@Service
+public class VoteServiceImpl implements VoteService, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteServiceImpl.class);
+    private static final Duration RECOVERY_MARGIN = Duration.ofMinutes(1);
+    private static final int RECOUNT_BATCH = 500;
+
+    private final IssueRepository issueRepository;
+    private final IssueVoteRepository voteRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Cache issueCache;
+    private final TrendingService trendingService;
+
+    // issue id -> votes not yet added to upvote_count. Entries are never removed, so an increment
+    // can't land in an adder the flusher has already dropped; one small entry per voted-on issue.
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public VoteServiceImpl(IssueRepository issueRepository,
+                           IssueVoteRepository voteRepository,
+                           JdbcTemplate jdbc,
+                           PlatformTransactionManager transactionManager,
+                           CacheManager cacheManager,
+                           TrendingService trendingService) {
+        this.issueRepository = issueRepository;
+        this.voteRepository = voteRepository;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.issueCache = cacheManager.getCache(CacheConfig.ISSUES);
+        this.trendingService = trendingService;
+    }
+
+    @Override
+    public Optional<UpvoteResponse> upvote(String issueId, User voter) {
+        Optional<Integer> stored = issueRepository.findUpvoteCountById(issueId);
+        if (stored.isEmpty()) return Optional.empty();
+
+        IssueVote vote = new IssueVote();
+        boolean recorded;
+        try {
+            voteRepository.insert(vote.getId(), issueId, voter.getId(), vote.getCreatedAt());
+            pending.computeIfAbsent(issueId, k -> new LongAdder()).increment();
+            trendingService.recordUpvote(issueId, vote.getCreatedAt());
+            recorded = true;
+        } catch (DataIntegrityViolationException alreadyVoted) {
+            recorded = false;
+        }
+
+        UpvoteResponse resp = new UpvoteResponse();
+        resp.issueId = issueId;
+        resp.recorded = recorded;
+        // approximate while a flush is in flight: the delta has left the adder but not yet reached the row
+        LongAdder buffered = pending.get(issueId);
+        resp.upvoteCount = stored.get() + (buffered == null ? 0 : buffered.sum());
+        return Optional.of(resp);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${votes.flushMillis:1000}")
+    public void flush() {
+        Map<String, Long> deltas = new HashMap<>();
+        pending.forEach((issueId, adder) -> {
+            long d = adder.sumThenReset();
+            if (d != 0) deltas.put(issueId, d);
+        });
+        if (deltas.isEmpty()) return;
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((issueId, d) -> args.add(new Object[]{d, now, now, issueId}));
+        try {
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(
+                    "UPDATE issues SET upvote_count = upvote_count + ?, upvotes_flushed_at = ?, updated_at = ? " +
+                            "WHERE id = ?", args));
+        } catch (RuntimeException e) {
+            // put the deltas back; the next flush retries them
+            deltas.forEach((issueId, d) -> pending.computeIfAbsent(issueId, k -> new LongAdder()).add(d));
+            log.warn("Upvote flush failed, {} issue(s) kept for retry: {}", deltas.size(), e.getMessage());
+            return;
+        }
+        deltas.keySet().forEach(issueCache::evict);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Runs once all singletons exist and before the web server starts, so no new votes can be
+     * counted twice (once in the recount, once in an adder).
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            Instant lastFlush = issueRepository.findMaxUpvotesFlushedAt();
+            Instant since = lastFlush == null ? Instant.EPOCH : lastFlush.minus(RECOVERY_MARGIN);
+            List<String> ids = voteRepository.findIssueIdsVotedSince(since);
+            Instant now = Instant.now();
+            for (int i = 0; i < ids.size(); i += RECOUNT_BATCH) {
+                List<String> batch = ids.subList(i, Math.min(ids.size(), i + RECOUNT_BATCH));
+                tx.executeWithoutResult(status -> issueRepository.recountUpvotes(batch, now));
+            }
+            if (!ids.isEmpty()) log.info("Recounted upvotes of {} issue(s) voted on since {}", ids.size(), since);
+        } catch (RuntimeException e) {
+            log.warn("Upvote recount skipped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.model.IssueEvent;
+import com.publicissuetracker.service.IssueEventSink;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * events.sink.mode=async: write-behind for IssueEvent audit records.
+ *
+ * Events are queued once their transaction commits (rolled-back changes leave no event) and a
+ * single writer thread inserts them in JDBC batches of up to batchSize rows, one transaction per
+ * batch. The queue is bounded: when it stays full for offerTimeoutMillis the recording thread
+ * inserts its event itself, which slows producers down to the database's pace instead of dropping
+ * events or growing without limit. Shutdown stops the writer only after the queue is drained.
+ *
+ * Durability trade-off: events still in the queue are lost if the process dies.
+ */
+@Component
+@ConditionalOnProperty(name = "events.sink.mode", havingValue = "async")
+public class WriteBehindIssueEventSink implements IssueEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindIssueEventSink.class);
+    private static final String INSERT =
+            "INSERT INTO issue_events (id, issue_id, type, actor_id, from_status, to_status, note, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final BlockingQueue<IssueEvent> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    // issue id -> events recorded but not yet inserted
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public WriteBehindIssueEventSink(JdbcTemplate jdbc,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${events.sink.queueCapacity:10000}") int queueCapacity,
+                                     @Value("${events.sink.batchSize:500}") int batchSize,
+                                     @Value("${events.sink.offerTimeoutMillis:50}") long offerTimeoutMillis) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        // also used from afterCommit callbacks, where the caller's transaction is finished but still bound
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writer = new Thread(this::drainLoop, "issue-event-writer");
+        this.writer.start();
+    }
+
+    @Override
+    public void record(IssueEvent event) {
+        // marked before commit, so a reader can never see the issue's new version without knowing
+        // that one of its events is still on the way
+        pending.merge(event.getIssueId(), 1, Integer::sum);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) enqueue(event);
+                else done(List.of(event));
+            }
+        });
+    }
+
+    @Override
+    public boolean isPending(String issueId) {
+        return pending.containsKey(issueId);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("Issue event writer did not drain in time, writing {} remaining event(s) inline", queue.size());
+            List<IssueEvent> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            write(rest);
+        }
+    }
+
+    private void enqueue(IssueEvent event) {
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // backpressure (or shutting down): the caller pays for its own insert
+        if (!queued) write(List.of(event));
+    }
+
+    private void drainLoop() {
+        List<IssueEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                IssueEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Issue event writer failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<IssueEvent> events) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    tx.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+                        ps.setString(1, e.getId());
+                        ps.setString(2, e.getIssueId());
+                        ps.setString(3, e.getType());
+                        ps.setString(4, e.getActorId());
+                        ps.setString(5, e.getFromStatus());
+                        ps.setString(6, e.getToStatus());
+                        ps.setString(7, e.getNote());
+                        ps.setTimestamp(8, Timestamp.from(e.getCreatedAt()));
+                    }));
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt == MAX_ATTEMPTS) {
+                        log.error("Dropping {} issue event(s) after {} attempts: {}", events.size(), attempt, e.getMessage());
+                        return;
+                    }
+                    sleepQuietly(100L * attempt);
+                }
+            }
+        } finally {
+            done(events);
+        }
+    }
+
+    private void done(List<IssueEvent> events) {
+        for (IssueEvent e : events) {
+            pending.computeIfPresent(e.getIssueId(), (id, n) -> n > 1 ? n - 1 : null);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.publicissuetracker.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One /issues/stream connection: its filter and a bounded buffer of pre-rendered SSE frames.
+ *
+ * Publishers only offer() frames; a writer thread from the shared pool drains the buffer when it
+ * becomes non-empty, so an idle connection holds no thread. A client that lets its buffer fill
+ * up is closed (it can reconnect with Last-Event-ID). The sends block, so a client that stops
+ * reading holds its writer thread until the container's write timeout fails the send.
+ * While the initial replay runs, live frames are buffered and sent afterwards, minus the events
+ * the replay already delivered.
+ */
+public final class StreamSubscriber {
+
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    /** A rendered SSE frame; eventId is null for heartbeats. */
+    public static final class Frame {
+        final String eventId;
+        final Set<ResponseBodyEmitter.DataWithMediaType> data;
+
+        public Frame(String eventId, String text) {
+            this.eventId = eventId;
+            this.data = Set.of(new ResponseBodyEmitter.DataWithMediaType(text, TEXT_UTF8));
+        }
+    }
+
+    private final SseEmitter emitter;
+    private final String issueId;
+    private final String reporterId;
+    private final String assigneeId;
+    private final BlockingQueue<Frame> buffer;
+    private final Executor writers;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean replaying = true;
+    private volatile Set<String> replayed = Set.of();
+    private volatile boolean closed;
+
+    public StreamSubscriber(SseEmitter emitter, String issueId, String reporterId, String assigneeId,
+                            int bufferSize, Executor writers) {
+        this.emitter = emitter;
+        this.issueId = issueId;
+        this.reporterId = reporterId;
+        this.assigneeId = assigneeId;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.writers = writers;
+    }
+
+    public boolean matches(String issueId, String reporterId, String assigneeId) {
+        return (this.issueId == null || this.issueId.equals(issueId))
+                && (this.reporterId == null || this.reporterId.equals(reporterId))
+                && (this.assigneeId == null || this.assigneeId.equals(assigneeId));
+    }
+
+    public boolean needsOwner() {
+        return reporterId != null || assigneeId != null;
+    }
+
+    public String getIssueId() { return issueId; }
+    public String getReporterId() { return reporterId; }
+    public String getAssigneeId() { return assigneeId; }
+    public boolean isClosed() { return closed; }
+
+    /**
+     * Queue a frame for sending. Returns false if the buffer is full (the caller should drop
+     * this subscriber) or the subscriber is already closed.
+     */
+    public boolean offer(Frame frame) {
+        if (closed || !buffer.offer(frame)) return false;
+        schedule();
+        return true;
+    }
+
+    /** Send directly from the replaying thread, before any buffered live frame. */
+    public void sendReplayed(Frame frame) throws IOException {
+        emitter.send(frame.data);
+    }
+
+    /** End the replay phase: buffered live frames for the given event ids are skipped. */
+    public void replayDone(Set<String> replayedIds) {
+        replayed = replayedIds;
+        replaying = false;
+        schedule();
+    }
+
+    public void close() {
+        closed = true;
+        schedule(); // the writer completes the emitter, so it never races a send in progress
+    }
+
+    private void schedule() {
+        if (!replaying && scheduled.compareAndSet(false, true)) {
+            writers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Frame frame;
+            while (!closed && (frame = buffer.poll()) != null) {
+                if (frame.eventId != null && replayed.contains(frame.eventId)) continue;
+                emitter.send(frame.data);
+            }
+            replayed = Set.of(); // the frames that could overlap the replay have all been seen
+        } catch (IOException | IllegalStateException e) {
+            // client went away (or the emitter already completed): stop writing to it
+            closed = true;
+        } finally {
+            if (closed && completed.compareAndSet(false, true)) {
+                buffer.clear();
+                emitter.complete();
+            }
+            scheduled.set(false);
+        }
+        // a frame or close() that arrived after the last check, while scheduled was still set
+        if (closed ? !completed.get() : !buffer.isEmpty()) schedule();
+    }
+}
@@ -0,0 +1,156 @@
+package com.publicissuetracker.trending;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Exponentially decaying activity scores with a precomputed top-K.
+ *
+ * An activity of weight w at time t contributes w * 2^-((now - t) / halfLife) to its issue's score.
+ * Scores are kept in "forward decay" form - ln(sum of w * e^(lambda * (t - epoch))) - which never
+ * has to be touched as time passes: every score decays by the same factor, so the ranking only
+ * changes when an activity is recorded. Each record is O(log n) and refreshes the top-K snapshot
+ * only if the issue is (or was) in it; reading the top-K is a snapshot read.
+ */
+public class TrendingIndex {
+
+    private final double lambda; // per second
+    private final Instant epoch;
+    private final int capacity;
+
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(
+            Comparator.comparingDouble((Entry e) -> e.logScore).reversed().thenComparing(e -> e.id));
+    private volatile List<Entry> top = Collections.emptyList();
+    private final Set<String> topIds = new HashSet<>();
+
+    public TrendingIndex(Duration halfLife, int capacity, Instant epoch) {
+        if (halfLife.isZero() || halfLife.isNegative()) {
+            throw new IllegalArgumentException("halfLife must be positive");
+        }
+        this.lambda = Math.log(2) / halfLife.toSeconds();
+        this.capacity = capacity;
+        this.epoch = epoch;
+    }
+
+    /** Add an activity of the given weight, observed at the given time, to an issue's score. */
+    public synchronized void record(String id, double weight, Instant at) {
+        double logWeight = Math.log(weight) + lambda * seconds(at);
+        Entry e = byId.get(id);
+        boolean wasTop = topIds.contains(id);
+        if (e == null) {
+            e = new Entry(id, logWeight);
+            byId.put(id, e);
+        } else {
+            ranked.remove(e);
+            e.logScore = logAddExp(e.logScore, logWeight);
+        }
+        ranked.add(e);
+        if (wasTop || isTop(e)) refreshTop();
+    }
+
+    /** Up to limit issues, highest current score first (scores decayed to now). */
+    public List<Ranked> top(int limit, Instant now) {
+        List<Entry> snapshot = top;
+        double decay = lambda * seconds(now);
+        List<Ranked> out = new ArrayList<>(Math.min(limit, snapshot.size()));
+        for (int i = 0; i < snapshot.size() && i < limit; i++) {
+            Entry e = snapshot.get(i);
+            out.add(new Ranked(e.id, Math.exp(e.logScore - decay)));
+        }
+        return out;
+    }
+
+    /** Forget issues whose current score has decayed below minScore. */
+    public synchronized int prune(double minScore, Instant now) {
+        double cutoff = Math.log(minScore) + lambda * seconds(now);
+        int removed = 0;
+        // lowest scores are at the tail
+        Iterator<Entry> it = ranked.descendingIterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (e.logScore >= cutoff) break;
+            it.remove();
+            byId.remove(e.id);
+            removed++;
+        }
+        if (removed > 0) refreshTop();
+        return removed;
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        ranked.clear();
+        topIds.clear();
+        top = Collections.emptyList();
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // --- internals (callers hold the monitor) ---
+
+    private boolean isTop(Entry e) {
+        List<Entry> current = top;
+        return current.size() < capacity || ranked.comparator().compare(e, current.get(current.size() - 1)) <= 0;
+    }
+
+    private void refreshTop() {
+        List<Entry> next = new ArrayList<>(capacity);
+        topIds.clear();
+        for (Entry e : ranked) {
+            if (next.size() == capacity) break;
+            next.add(e.copy());
+            topIds.add(e.id);
+        }
+        top = Collections.unmodifiableList(next);
+    }
+
+    private double seconds(Instant t) {
+        return Duration.between(epoch, t).toMillis() / 1000.0;
+    }
+
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    public static final class Ranked {
+        public final String id;
+        public final double score;
+
+        Ranked(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Entry {
+        final String id;
+        double logScore;
+
+        Entry(String id, double logScore) {
+            this.id = id;
+            this.logScore = logScore;
+        }
+
+        Entry copy() {
+            return new Entry(id, logScore);
+        }
+    }
+}
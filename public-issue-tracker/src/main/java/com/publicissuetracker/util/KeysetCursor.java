@@ -0,0 +1,52 @@
+package com.publicissuetracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination over (createdAt, id).
+ *
+ * The token is just "createdAt|id" base64url-encoded, so clients must treat it as opaque
+ * and pass it back unchanged. decode() throws IllegalArgumentException for anything
+ * that was not produced by encode().
+ */
+public final class KeysetCursor {
+
+    private final Instant createdAt;
+    private final String id;
+
+    public KeysetCursor(Instant createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public String getId() { return id; }
+
+    public String encode() {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Instant createdAt, String id) {
+        return new KeysetCursor(createdAt, id).encode();
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Cursor must not be blank");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(Instant.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.publicissuetracker.util;
+
+import com.publicissuetracker.dto.TimelinePageResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Two-way keyset pagination over rows ordered by (createdAt, id), for per-issue timelines.
+ *
+ * Without a cursor the newest page is read (index range scan backwards from the end); ?before=
+ * reads backwards from a cursor, ?after= forwards. One extra row is fetched to tell whether
+ * more rows exist in the direction of travel. Items are always returned oldest first.
+ */
+public final class KeysetWindow {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** A seek query: rows strictly beyond the cursor, at most window.getPageSize() of them. */
+    @FunctionalInterface
+    public interface Seek<R> {
+        List<R> fetch(KeysetCursor cursor, Pageable window);
+    }
+
+    private KeysetWindow() {}
+
+    /**
+     * @param newest rows newest first (no cursor)
+     * @param older  rows before the cursor, newest first
+     * @param newer  rows after the cursor, oldest first
+     * @throws IllegalArgumentException if both cursors are given or one is malformed
+     */
+    public static <R, T> TimelinePageResponse<T> page(String before, String after, int limit,
+                                                      Function<Pageable, List<R>> newest,
+                                                      Seek<R> older,
+                                                      Seek<R> newer,
+                                                      Function<R, KeysetCursor> keyOf,
+                                                      Function<List<R>, List<T>> toItems) {
+        boolean hasBefore = before != null && !before.isBlank();
+        boolean hasAfter = after != null && !after.isBlank();
+        if (hasBefore && hasAfter) {
+            throw new IllegalArgumentException("Pass either before or after, not both");
+        }
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<R> rows;
+        boolean moreOlder;
+        boolean moreNewer;
+        if (hasAfter) {
+            rows = newer.fetch(KeysetCursor.decode(after), window);
+            moreNewer = rows.size() > pageSize;
+            moreOlder = true; // at least the cursor row
+            if (moreNewer) rows = rows.subList(0, pageSize);
+        } else {
+            rows = hasBefore ? older.fetch(KeysetCursor.decode(before), window) : newest.apply(window);
+            moreOlder = rows.size() > pageSize;
+            moreNewer = hasBefore;
+            rows = new ArrayList<>(moreOlder ? rows.subList(0, pageSize) : rows);
+            Collections.reverse(rows);
+        }
+
+        TimelinePageResponse<T> page = new TimelinePageResponse<>();
+        page.items = toItems.apply(rows);
+        page.limit = pageSize;
+        if (!rows.isEmpty()) {
+            if (moreOlder) page.olderCursor = keyOf.apply(rows.get(0)).encode();
+            if (moreNewer) page.newerCursor = keyOf.apply(rows.get(rows.size() - 1)).encode();
+        }
+        return page;
+    }
+}
@@ -0,0 +1,51 @@
+package com.publicissuetracker.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only string <-> small int dictionary (dictionary coding for low-cardinality
+ * values such as status and category). Codes are dense and stable for the process lifetime.
+ */
+public class StringDictionary {
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public StringDictionary(String... seed) {
+        for (String s : seed) codeOf(s);
+    }
+
+    /** Code for the value, assigning the next free code if it is new. null maps to "". */
+    public int codeOf(String value) {
+        String key = value == null ? "" : value;
+        Integer code = codes.get(key);
+        if (code != null) return code;
+        synchronized (values) {
+            return codes.computeIfAbsent(key, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    public String valueOf(int code) {
+        synchronized (values) {
+            return values.get(code);
+        }
+    }
+
+    public int size() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+
+    /** Snapshot of all values in code order. */
+    public List<String> values() {
+        synchronized (values) {
+            return new ArrayList<>(values);
+        }
+    }
+}
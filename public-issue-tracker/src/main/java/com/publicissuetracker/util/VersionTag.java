@@ -0,0 +1,25 @@
+package com.publicissuetracker.util;
+
+import org.springframework.http.CacheControl;
+
+import java.time.Instant;
+
+/**
+ * Strong ETags derived from a version timestamp (Issue.updatedAt or max(updatedAt)).
+ *
+ * Controllers look the version up first (an indexed single-value query), pass the tag to
+ * WebRequest.checkNotModified - which answers If-None-Match / If-Modified-Since with 304 and sets
+ * ETag / Last-Modified - and only run the full query when the client's copy is stale.
+ * Reading the version before the data means a tag is never newer than the body it labels.
+ */
+public final class VersionTag {
+
+    /** Let clients store responses but revalidate them on every use. */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private VersionTag() {}
+
+    public static String etag(Instant version) {
+        return "\"" + Long.toHexString(version.getEpochSecond()) + "." + Integer.toHexString(version.getNano()) + "\"";
+    }
+}
@@ -0,0 +1,87 @@
+package com.publicissuetracker.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encoding, precision choice and the cell helpers behind the nearby search.
+ */
+class GeoHashTest {
+
+    @Test
+    void encodesKnownPoints() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pruydqq", GeoHash.encode(57.64911, 10.40744, GeoHash.STORED_PRECISION));
+        assertEquals("s0000", GeoHash.encode(0, 0, 5));
+        assertEquals("7zzzz", GeoHash.encode(-0.000001, -0.000001, 5));
+        assertEquals("pbpbp", GeoHash.encode(-90, 180 - 1e-9, 5));
+    }
+
+    @Test
+    void prefixesNest() {
+        String full = GeoHash.encode(-33.86882, 151.209296, GeoHash.STORED_PRECISION);
+        for (int p = 1; p < GeoHash.STORED_PRECISION; p++) {
+            assertEquals(full.substring(0, p), GeoHash.encode(-33.86882, 151.209296, p));
+        }
+    }
+
+    @Test
+    void precisionForRadius() {
+        // cells at the equator: p9 4.8m, p8 19m x 38m, p7 153m, p6 611m x 1.2km
+        assertEquals(9, GeoHash.precisionForRadius(1, 0));
+        assertEquals(8, GeoHash.precisionForRadius(5, 0));
+        assertEquals(7, GeoHash.precisionForRadius(20, 0));
+        assertEquals(7, GeoHash.precisionForRadius(100, 0));
+        // cells narrow towards the poles: at 60 degrees a p7 cell is only ~76m wide
+        assertEquals(6, GeoHash.precisionForRadius(100, 60));
+        assertEquals(1, GeoHash.precisionForRadius(50_000_000, 0));
+        for (double lat = -85; lat <= 85; lat += 5) {
+            assertTrue(GeoHash.precisionForRadius(1000, lat) >= GeoHash.precisionForRadius(1000, Math.abs(lat) + 4));
+        }
+    }
+
+    @Test
+    void neighboursWrapAroundTheAntimeridian() {
+        List<String> cells = List.of(GeoHash.cellAndNeighbours(0.01, 179.99, 5));
+        assertEquals(9, cells.size());
+        assertTrue(cells.contains(GeoHash.encode(0.01, 179.99, 5)));
+        assertTrue(cells.contains(GeoHash.encode(0.01, -179.99, 5)));
+
+        List<String> west = List.of(GeoHash.cellAndNeighbours(0.01, -179.99, 5));
+        assertTrue(west.contains(GeoHash.encode(0.01, 179.99, 5)));
+    }
+
+    @Test
+    void neighboursAtThePoleDropDuplicates() {
+        // the row above the top row is the top row again
+        String[] cells = GeoHash.cellAndNeighbours(89.99, 10, 5);
+        assertEquals(6, cells.length);
+    }
+
+    @Test
+    void childrenSplitTheCell() {
+        String parent = GeoHash.encode(52.52, 13.405, 6);
+        List<String> children = List.of(GeoHash.children(parent));
+        assertEquals(32, children.size());
+        assertTrue(children.stream().allMatch(c -> c.length() == 7 && c.startsWith(parent)));
+        assertTrue(children.contains(GeoHash.encode(52.52, 13.405, 7)));
+    }
+
+    @Test
+    void distanceToCell() {
+        String cell = GeoHash.encode(52.52, 13.405, 6);
+        assertEquals(0, GeoHash.distanceToCellMeters(52.52, 13.405, cell));
+        // roughly 1.1 km north of a cell whose top edge is at most 611m above the point
+        double d = GeoHash.distanceToCellMeters(52.53, 13.405, GeoHash.encode(52.52, 13.405, 7));
+        assertTrue(d > 0 && d < 1112, () -> "distance " + d);
+        // a cell just across the antimeridian is metres away, not the width of the world
+        double across = GeoHash.distanceToCellMeters(0, 179.9999, GeoHash.encode(0, -179.9999, 7));
+        assertTrue(across < 20, () -> "distance " + across);
+        double back = GeoHash.distanceToCellMeters(0, -179.9999, GeoHash.encode(0, 179.9999, 7));
+        assertTrue(back < 20, () -> "distance " + back);
+    }
+}
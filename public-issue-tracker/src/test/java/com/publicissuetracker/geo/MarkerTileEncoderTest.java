@@ -0,0 +1,145 @@
+package com.publicissuetracker.geo;
+
+import com.publicissuetracker.dto.IssueMarkerResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Round trip of the tile wire format: decoded with a reader written from the layout in
+ * MarkerTileEncoder's Javadoc, as a client would.
+ */
+class MarkerTileEncoderTest {
+
+    @Test
+    void uuidIdsRoundTrip() {
+        List<IssueMarkerResponse> markers = List.of(
+                new IssueMarkerResponse(UUID.randomUUID().toString(), 52.520008, 13.404954, "OPEN", "Roads"),
+                new IssueMarkerResponse(UUID.randomUUID().toString(), -33.868820, 151.209296, "RESOLVED", "Lighting"),
+                new IssueMarkerResponse(UUID.randomUUID().toString(), 52.520008, 13.400001, "OPEN", null));
+        Tile tile = decode(MarkerTileEncoder.encode(14, 8802, 5373, markers));
+
+        assertEquals(List.of(14L, 8802L, 5373L), List.of(tile.z, tile.x, tile.y));
+        assertEquals(1, tile.idFormat);
+        assertMarkers(markers, tile.markers);
+    }
+
+    @Test
+    void nonUuidIdsFallBackToStrings() {
+        List<IssueMarkerResponse> markers = List.of(
+                new IssueMarkerResponse("issue-1", 0.000001, -179.999999, "OPEN", "Roads"),
+                new IssueMarkerResponse(UUID.randomUUID().toString(), -0.000001, 179.999999, "VERIFIED", "Parks"));
+        Tile tile = decode(MarkerTileEncoder.encode(10, 0, 1023, markers));
+
+        assertEquals(0, tile.idFormat);
+        assertMarkers(markers, tile.markers);
+    }
+
+    @Test
+    void emptyTile() {
+        byte[] bytes = MarkerTileEncoder.encode(22, 4_194_303, 0, List.of());
+        assertArrayEquals(MarkerTileEncoder.MAGIC, Arrays.copyOf(bytes, 4));
+        Tile tile = decode(bytes);
+        assertEquals(4_194_303L, tile.x);
+        assertEquals(0, tile.markers.size());
+    }
+
+    @Test
+    void varintsAndZigzag() {
+        assertEquals(0, MarkerTileEncoder.zigzag(0));
+        assertEquals(1, MarkerTileEncoder.zigzag(-1));
+        assertEquals(2, MarkerTileEncoder.zigzag(1));
+        assertEquals(359_999_999, MarkerTileEncoder.zigzag(-180_000_000));
+        for (long v : new long[]{0, 127, 128, 16_383, 16_384, 360_000_000L, Long.MAX_VALUE}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MarkerTileEncoder.writeVarint(out, v);
+            assertEquals(v, readVarint(ByteBuffer.wrap(out.toByteArray())));
+        }
+    }
+
+    // encoder output is sorted by latitude, then longitude; coordinates are rounded to micro-degrees
+    private static void assertMarkers(List<IssueMarkerResponse> expected, List<IssueMarkerResponse> actual) {
+        List<IssueMarkerResponse> sorted = new ArrayList<>(expected);
+        sorted.sort((a, b) -> a.latitude != b.latitude ? Double.compare(a.latitude, b.latitude)
+                : Double.compare(a.longitude, b.longitude));
+        assertEquals(sorted.size(), actual.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            IssueMarkerResponse e = sorted.get(i);
+            IssueMarkerResponse a = actual.get(i);
+            assertEquals(e.id, a.id);
+            assertEquals(e.latitude, a.latitude, 1e-9);
+            assertEquals(e.longitude, a.longitude, 1e-9);
+            assertEquals(e.status == null ? "" : e.status, a.status);
+            assertEquals(e.category == null ? "" : e.category, a.category);
+        }
+    }
+
+    private static final class Tile {
+        long z, x, y;
+        int idFormat;
+        List<IssueMarkerResponse> markers = new ArrayList<>();
+    }
+
+    private static Tile decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte[] magic = new byte[4];
+        in.get(magic);
+        assertArrayEquals(MarkerTileEncoder.MAGIC, magic);
+        assertEquals(MarkerTileEncoder.VERSION, in.get());
+        Tile tile = new Tile();
+        tile.z = readVarint(in);
+        tile.x = readVarint(in);
+        tile.y = readVarint(in);
+        tile.idFormat = in.get();
+        List<String> statuses = readDictionary(in);
+        List<String> categories = readDictionary(in);
+        long count = readVarint(in);
+        long lat = 0, lng = 0;
+        for (long i = 0; i < count; i++) {
+            lat += unzigzag(readVarint(in));
+            lng += unzigzag(readVarint(in));
+            String status = statuses.get((int) readVarint(in));
+            String category = categories.get((int) readVarint(in));
+            String id = tile.idFormat == 1 ? new UUID(in.getLong(), in.getLong()).toString() : readString(in);
+            tile.markers.add(new IssueMarkerResponse(id, lat / 1_000_000.0, lng / 1_000_000.0, status, category));
+        }
+        assertFalse(in.hasRemaining());
+        return tile;
+    }
+
+    private static List<String> readDictionary(ByteBuffer in) {
+        long n = readVarint(in);
+        List<String> out = new ArrayList<>();
+        for (long i = 0; i < n; i++) out.add(readString(in));
+        return out;
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] b = new byte[(int) readVarint(in)];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.publicissuetracker.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bucket arithmetic (every reported percentile goes through it), merging and percentiles.
+ */
+class LogHistogramTest {
+
+    @Test
+    void valuesBelow128HaveTheirOwnBucket() {
+        for (long v : new long[]{0, 1, 63, 64, 127}) {
+            assertEquals(v, LogHistogram.index(v));
+            assertEquals(v, LogHistogram.highestEquivalent((int) v));
+        }
+    }
+
+    @Test
+    void bucketBoundaries() {
+        // from 128 on buckets are 2 wide, from 256 on 4 wide, ...
+        assertEquals(128, LogHistogram.index(128));
+        assertEquals(128, LogHistogram.index(129));
+        assertEquals(129, LogHistogram.index(130));
+        assertEquals(129, LogHistogram.highestEquivalent(128));
+        assertEquals(191, LogHistogram.index(255));
+        assertEquals(255, LogHistogram.highestEquivalent(191));
+        assertEquals(192, LogHistogram.index(256));
+        assertEquals(192, LogHistogram.index(259));
+        assertEquals(193, LogHistogram.index(260));
+        assertEquals(259, LogHistogram.highestEquivalent(192));
+    }
+
+    @Test
+    void everyValueFallsInABucketWithinOneSixtyFourth() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long v = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            check(v);
+        }
+        check(Long.MAX_VALUE);
+        for (int bit = 0; bit < 63; bit++) {
+            check((1L << bit) - 1);
+            check(1L << bit);
+        }
+    }
+
+    private static void check(long v) {
+        int index = LogHistogram.index(v);
+        long highest = LogHistogram.highestEquivalent(index);
+        assertTrue(highest >= v, () -> v + " above its bucket's highest value " + highest);
+        assertTrue(index == 0 || LogHistogram.highestEquivalent(index - 1) < v, () -> v + " fits an earlier bucket");
+        assertTrue(highest - v <= v / 64, () -> v + " in a bucket wider than 1/64: " + highest);
+    }
+
+    @Test
+    void percentilesOfAKnownDistribution() {
+        LogHistogram h = new LogHistogram();
+        for (long v = 1; v <= 1000; v++) h.record(v);
+        assertEquals(1000, h.getTotalCount());
+        assertEquals(1000, h.getMaxValue());
+        assertEquals(1, h.valueAtPercentile(0.1));
+        assertEquals(100, h.valueAtPercentile(10));
+        assertEquals(503, h.valueAtPercentile(50));   // 500 is in [500, 503]
+        assertEquals(991, h.valueAtPercentile(99));   // 990 is in [984, 991]
+        assertEquals(1000, h.valueAtPercentile(100)); // capped at the exact maximum
+        assertEquals(0, new LogHistogram().valueAtPercentile(50));
+        assertThrows(IllegalArgumentException.class, () -> h.valueAtPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> h.record(-1));
+    }
+
+    @Test
+    void mergingEqualsRecordingEverythingInOne() {
+        LogHistogram odd = new LogHistogram();
+        LogHistogram even = new LogHistogram();
+        LogHistogram all = new LogHistogram();
+        for (long v = 1; v <= 5000; v += 7) {
+            (v % 2 == 0 ? even : odd).record(v * v);
+            all.record(v * v);
+        }
+        odd.add(even);
+        assertEquals(all.getTotalCount(), odd.getTotalCount());
+        assertEquals(all.getMaxValue(), odd.getMaxValue());
+        for (double p : new double[]{1, 25, 50, 90, 99, 99.9, 100}) {
+            assertEquals(all.valueAtPercentile(p), odd.valueAtPercentile(p));
+        }
+        assertArrayEquals(all.encode(), odd.encode());
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        LogHistogram h = new LogHistogram();
+        h.record(0);
+        h.record(127);
+        h.record(128);
+        h.record(86_400_000L * 365);
+        LogHistogram back = LogHistogram.decode(h.encode());
+        assertEquals(h.getTotalCount(), back.getTotalCount());
+        assertEquals(h.getMaxValue(), back.getMaxValue());
+        assertArrayEquals(h.encode(), back.encode());
+        assertEquals(0, LogHistogram.decode(null).getTotalCount());
+    }
+}
@@ -0,0 +1,97 @@
+package com.publicissuetracker.outbox;
+
+import com.publicissuetracker.model.OutboxRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gap handling of the relay: where a batch stops, which ids it records as passed over and when
+ * they are given up.
+ */
+class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    // gapWait 5s, gapRetain 1h
+    private final OutboxRelay relay = new OutboxRelay(null, null, null, 500, 5_000, 3_600_000, 168);
+
+    @Test
+    void deliversEverythingWithoutGaps() {
+        List<OutboxRecord> fetched = records(NOW, 11, 12, 13);
+        assertEquals(fetched, relay.deliverable(fetched, 10, NOW));
+    }
+
+    @Test
+    void stopsInFrontOfARecentGap() {
+        List<OutboxRecord> fetched = records(NOW.minusSeconds(1), 11, 12, 14, 15);
+        assertEquals(ids(11, 12), ids(relay.deliverable(fetched, 10, NOW)));
+        // the gap is right after the offset: nothing goes out yet
+        assertTrue(relay.deliverable(records(NOW, 12, 13), 10, NOW).isEmpty());
+    }
+
+    @Test
+    void passesOverAGapOnceTheRecordAfterItSettled() {
+        List<OutboxRecord> fetched = new ArrayList<>(records(NOW.minusSeconds(10), 11, 13));
+        fetched.addAll(records(NOW.minusSeconds(1), 15));
+        // 12 is passed over (13 is older than gapWait), 14 is still waited for (15 is not)
+        assertEquals(ids(11, 13), ids(relay.deliverable(fetched, 10, NOW)));
+    }
+
+    @Test
+    void addGapsRecordsThePassedOverIds() {
+        TreeMap<Long, Long> gaps = new TreeMap<>();
+        relay.addGaps(gaps, records(NOW, 11, 13, 16), 8, 1_000, "test");
+        assertEquals(List.of(9L, 10L, 12L, 14L, 15L), List.copyOf(gaps.keySet()));
+        assertTrue(gaps.values().stream().allMatch(at -> at == 1_000));
+    }
+
+    @Test
+    void addGapsKeepsOnlyTheNewestOpenGaps() {
+        TreeMap<Long, Long> gaps = new TreeMap<>();
+        relay.addGaps(gaps, records(NOW, 1_500), 0, 1_000, "test");
+        relay.addGaps(gaps, records(NOW, 1_510), 1_500, 2_000, "test");
+        assertEquals(1_000, gaps.size());
+        assertEquals(1_509L, gaps.lastKey());
+        assertEquals(2_000L, gaps.get(1_501L));
+        // the gap before 1500 was capped at 1000 ids (1..1000); the lowest nine went to make room
+        assertEquals(10L, gaps.firstKey());
+    }
+
+    @Test
+    void expireGapsDropsOnlyGapsOlderThanTheRetention() {
+        TreeMap<Long, Long> gaps = new TreeMap<>();
+        gaps.put(5L, NOW.minusSeconds(3_601).toEpochMilli());
+        gaps.put(7L, NOW.minusSeconds(3_599).toEpochMilli());
+        relay.expireGaps(gaps, NOW);
+        assertEquals(List.of(7L), List.copyOf(gaps.keySet()));
+    }
+
+    private static List<OutboxRecord> records(Instant createdAt, long... ids) {
+        List<OutboxRecord> records = new ArrayList<>();
+        for (long id : ids) {
+            OutboxRecord r = new OutboxRecord();
+            ReflectionTestUtils.setField(r, "id", id);
+            r.setCreatedAt(createdAt);
+            records.add(r);
+        }
+        return records;
+    }
+
+    private static List<Long> ids(long... ids) {
+        List<Long> list = new ArrayList<>();
+        for (long id : ids) list.add(id);
+        return list;
+    }
+
+    private static List<Long> ids(List<OutboxRecord> records) {
+        return records.stream().map(OutboxRecord::getId).toList();
+    }
+}
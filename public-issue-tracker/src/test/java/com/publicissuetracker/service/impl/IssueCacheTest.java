@@ -0,0 +1,60 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.archive.IssueEventStore;
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.metrics.IssueCounters;
+import com.publicissuetracker.metrics.ResolutionTimes;
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.User;
+import com.publicissuetracker.outbox.OutboxWriter;
+import com.publicissuetracker.service.IssueService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The issues cache doesn't hold null values: a lookup of a missing issue must come back empty
+ * (and stay uncached) instead of failing on the put.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CacheConfig.class, TransactionalIssueEventSink.class, OutboxWriter.class, IssueEventStore.class, IssueCounters.class, ResolutionTimes.class,
+        IssueServiceImpl.class})
+class IssueCacheTest {
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void missingIssueIsEmptyAndNotCached() {
+        assertTrue(issueService.findById("missing").isEmpty());
+        assertNull(cacheManager.getCache(CacheConfig.ISSUES).get("missing"));
+    }
+
+    @Test
+    void foundIssueIsCached() {
+        User reporter = new User("Reporter", "reporter@example.com", "x", "CITIZEN");
+        em.persist(reporter);
+        Issue issue = new Issue("Pothole", "d", "Roads", 1.0, 2.0, "a", reporter);
+        em.persist(issue);
+        em.flush();
+
+        assertTrue(issueService.findById(issue.getId()).isPresent());
+        assertNotNull(cacheManager.getCache(CacheConfig.ISSUES).get(issue.getId()));
+    }
+}
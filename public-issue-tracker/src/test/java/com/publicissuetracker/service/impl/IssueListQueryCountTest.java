@@ -0,0 +1,138 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.archive.IssueEventStore;
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.dto.CommentCreateRequest;
+import com.publicissuetracker.dto.CommentResponse;
+import com.publicissuetracker.dto.IssuePageResponse;
+import com.publicissuetracker.dto.IssueResponse;
+import com.publicissuetracker.metrics.IssueCounters;
+import com.publicissuetracker.metrics.ResolutionTimes;
+import com.publicissuetracker.model.Issue;
+import com.publicissuetracker.model.User;
+import com.publicissuetracker.outbox.OutboxWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * The issue list read paths must cost exactly one SQL statement, however many issues
+ * (and distinct reporters / assignees / commenters) are on the page; bulk comments cost two.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CacheConfig.class, TransactionalIssueEventSink.class, OutboxWriter.class, IssueEventStore.class, IssueCounters.class, ResolutionTimes.class,
+        IssueServiceImpl.class, CommentServiceImpl.class})
+class IssueListQueryCountTest {
+
+    @Autowired
+    private IssueServiceImpl issueService;
+
+    @Autowired
+    private CommentServiceImpl commentService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User reporter;
+    private List<String> reporterIssueIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        reporter = new User("Reporter", "reporter@example.com", "x", "CITIZEN");
+        em.persist(reporter);
+        for (int u = 0; u < 5; u++) {
+            User other = new User("User " + u, "user" + u + "@example.com", "x", "CITIZEN");
+            User admin = new User("Admin " + u, "admin" + u + "@example.com", "x", "ADMIN");
+            em.persist(other);
+            em.persist(admin);
+            for (int n = 0; n < 2; n++) {
+                Issue mine = new Issue("Mine " + u + n, "d", "Roads", 1.0, 2.0, "a", reporter);
+                mine.setAssignedTo(admin);
+                em.persist(mine);
+                reporterIssueIds.add(mine.getId());
+                em.persist(new Issue("Theirs " + u + n, "d", "Roads", 1.0, 2.0, "a", other));
+            }
+        }
+        em.flush();
+        for (String issueId : reporterIssueIds) {
+            User commenter = new User("Commenter " + issueId, issueId + "@example.com", "x", "CITIZEN");
+            em.persist(commenter);
+            for (int n = 0; n < 3; n++) {
+                commentService.createComment(issueId, comment("comment " + n), commenter);
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void listIssuesPagesUseOneStatementEach() {
+        Statistics stats = statistics();
+        IssuePageResponse first = issueService.listIssues(null, null, null, 15);
+        assertEquals(15, first.items.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertNotNull(first.items.get(0).createdByName);
+
+        stats.clear();
+        IssuePageResponse second = issueService.listIssues("OPEN", "Roads", first.nextCursor, 15);
+        assertEquals(5, second.items.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void listIssuesByReporterUsesOneStatement() {
+        Statistics stats = statistics();
+        List<IssueResponse> mine = issueService.listIssuesByReporterId(reporter.getId());
+        assertEquals(10, mine.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+        for (IssueResponse r : mine) {
+            assertEquals("Reporter", r.createdByName);
+            assertNotNull(r.assignedToName);
+            assertEquals(3, r.commentCount);
+            assertNotNull(r.latestComment.authorName);
+        }
+    }
+
+    @Test
+    void bulkCommentsUseOneQueryForCommentsAndOneForAuthors() {
+        Statistics stats = statistics();
+        Map<String, List<CommentResponse>> byIssue = commentService.listCommentsByIssueIds(reporterIssueIds);
+        assertEquals(2, stats.getPrepareStatementCount());
+        assertEquals(reporterIssueIds, List.copyOf(byIssue.keySet()));
+        for (List<CommentResponse> comments : byIssue.values()) {
+            assertEquals(3, comments.size());
+            assertNotNull(comments.get(0).authorName);
+        }
+    }
+
+    private static CommentCreateRequest comment(String text) {
+        CommentCreateRequest req = new CommentCreateRequest();
+        req.setText(text);
+        return req;
+    }
+
+    private Statistics statistics() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+}
@@ -0,0 +1,77 @@
+package com.publicissuetracker.service.impl;
+
+import com.publicissuetracker.config.CacheConfig;
+import com.publicissuetracker.model.User;
+import com.publicissuetracker.security.JwtUtil;
+import com.publicissuetracker.security.PasswordHasher;
+import com.publicissuetracker.security.UserSnapshot;
+import com.publicissuetracker.service.UserService;
+import io.jsonwebtoken.Claims;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * User snapshots checked by JwtAuthenticationFilter: a deleted user's token must find no snapshot
+ * (401) rather than fail on the null put, and revocation must split tokens by issue time.
+ */
+@DataJpaTest
+@Import({CacheConfig.class, PasswordHasher.class, UserServiceImpl.class, JwtUtil.class, UserSnapshotCacheTest.Encoder.class})
+@TestPropertySource(properties = {"jwt.secret=super-secret-key-change-this-should-be-long", "jwt.expiration=3600000"})
+class UserSnapshotCacheTest {
+
+    @TestConfiguration
+    static class Encoder {
+        @Bean
+        BCryptPasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void missingUserHasNoSnapshotAndIsNotCached() {
+        assertTrue(userService.findSnapshot("missing").isEmpty());
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get("missing"));
+    }
+
+    @Test
+    void revocationRejectsEarlierTokensOnly() throws InterruptedException {
+        User user = new User("Citizen", "citizen@example.com", "x", "CITIZEN");
+        em.persist(user);
+        em.flush();
+        Claims before = jwtUtil.verify(jwtUtil.generateToken(user.getId(), user.getEmail(), "CITIZEN")).orElseThrow();
+
+        Thread.sleep(2);
+        userService.revokeAccessTokens(user.getId());
+        Thread.sleep(2);
+        Claims after = jwtUtil.verify(jwtUtil.generateToken(user.getId(), user.getEmail(), "CITIZEN")).orElseThrow();
+
+        UserSnapshot snapshot = userService.findSnapshot(user.getId()).orElseThrow();
+        assertFalse(snapshot.admits("CITIZEN", JwtUtil.issuedAt(before)));
+        assertTrue(snapshot.admits("CITIZEN", JwtUtil.issuedAt(after)));
+        assertFalse(snapshot.admits("ADMIN", JwtUtil.issuedAt(after)));
+    }
+}